@@ -0,0 +1,223 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.command.io.LexiconCloseCommand;
+import org.didelphis.soundchange.command.io.LexiconOpenCommand;
+import org.didelphis.soundchange.command.io.ScriptImportCommand;
+import org.didelphis.soundchange.command.rule.Rule;
+import org.didelphis.soundchange.parser.ParserMemory;
+import org.didelphis.soundchange.parser.ScriptParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Class {@code CompiledScript}
+ *
+ * The rules of a script, compiled once and applied to individual words
+ * without reading or writing lexicons. Commands which read or write lexicons,
+ * or run other scripts, are ignored; rules in imported scripts are included.
+ * Instances are immutable and may be shared between threads; each thread
+ * segments words with its own factory, since factories are not known to be
+ * thread-safe.
+ *
+ * Words are segmented as the first {@code OPEN} in the script would segment
+ * them, and formatted as the first {@code CLOSE} would write them; if there
+ * is no such command, the feature model and formatter mode in effect at the
+ * end of the script are used instead.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class CompiledScript<T> {
+
+	private final List<Rule<T>> rules;
+	private final List<Rule<T>> views;
+	private final ThreadLocal<SequenceFactory<T>> factories;
+	private final FormatterMode mode;
+
+	/**
+	 * Compiles the provided script
+	 *
+	 * @param filePath the path of the script, against which the paths of
+	 *                 models and imports are resolved
+	 * @param type     the feature type used to compile the script
+	 * @param script   the contents of the script
+	 * @param handler  the file handler used to read models and imports
+	 */
+	public CompiledScript(String filePath, FeatureType<T> type, String script,
+			FileHandler handler) {
+		this(filePath, type, script, handler, new ScriptOptions());
+	}
+
+	/**
+	 * Compiles the provided script with the provided options
+	 *
+	 * @param filePath the path of the script, against which the paths of
+	 *                 models and imports are resolved
+	 * @param type     the feature type used to compile the script
+	 * @param script   the contents of the script
+	 * @param handler  the file handler used to read models and imports
+	 * @param options  the options used to compile the script
+	 */
+	public CompiledScript(String filePath, FeatureType<T> type, String script,
+			FileHandler handler, ScriptOptions options) {
+		this(parse(filePath, type, script, handler, options));
+	}
+
+	/**
+	 * @param parser a parser which has already parsed its script
+	 */
+	CompiledScript(ScriptParser<T> parser) {
+		List<Rule<T>> list = new ArrayList<>();
+		List<LexiconOpenCommand<T>> opens = new ArrayList<>();
+		List<LexiconCloseCommand<T>> closes = new ArrayList<>();
+		collect(parser.getCommands(), list, opens, closes);
+		rules = Collections.unmodifiableList(list);
+		List<Rule<T>> ruleViews = new ArrayList<>(list.size());
+		for (Rule<T> rule : list) {
+			ruleViews.add(new RuleView<>(rule));
+		}
+		views = Collections.unmodifiableList(ruleViews);
+
+		ParserMemory<T> memory = parser.getMemory();
+		Supplier<SequenceFactory<T>> supplier = opens.isEmpty()
+				? null
+				: opens.get(0).getFactories();
+		factories = ThreadLocal.withInitial(supplier == null
+				? memory.factorySupplier()
+				: supplier);
+		mode = closes.isEmpty()
+				? memory.getFormatterMode()
+				: closes.get(0).getMode();
+	}
+
+	/**
+	 * @param word a single word
+	 *
+	 * @return the word after every rule has been applied to it
+	 */
+	public String apply(String word) {
+		SequenceFactory<T> factory = factories.get();
+		return mode.normalize(apply(factory.toSequence(word)).toString());
+	}
+
+	/**
+	 * @param word a single word; it is not modified
+	 *
+	 * @return a new sequence, containing the word after every rule has been
+	 * 		applied to it
+	 */
+	public Sequence<T> apply(Sequence<T> word) {
+		Sequence<T> sequence = new BasicSequence<>(word);
+		for (Rule<T> rule : rules) {
+			sequence = rule.apply(sequence);
+		}
+		return sequence;
+	}
+
+	/**
+	 * @param words a stream of words, which may be parallel
+	 *
+	 * @return a stream of the words after every rule has been applied to
+	 * 		them, in the same order
+	 */
+	public Stream<String> applyAll(Stream<String> words) {
+		return words.map(this::apply);
+	}
+
+	/**
+	 * @return the factory used to segment words on the current thread
+	 */
+	public SequenceFactory<T> getFactory() {
+		return factories.get();
+	}
+
+	/**
+	 * @return the rules of the script, in the order they are applied; the
+	 * 		rules can only be applied to words, and running them does nothing
+	 */
+	public List<Rule<T>> getRules() {
+		return views;
+	}
+
+	private static <T> ScriptParser<T> parse(String filePath,
+			FeatureType<T> type, String script, FileHandler handler,
+			ScriptOptions options) {
+		ScriptParser<T> parser = new ScriptParser<>(filePath, type, script,
+				handler, new ErrorLogger(), options);
+		parser.parse();
+		return parser;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void collect(Iterable<Runnable> commands,
+			List<Rule<T>> rules,
+			List<LexiconOpenCommand<T>> opens,
+			List<LexiconCloseCommand<T>> closes) {
+		for (Runnable command : commands) {
+			if (command instanceof Rule) {
+				rules.add((Rule<T>) command);
+			} else if (command instanceof ScriptImportCommand) {
+				Iterable<Runnable> nested =
+						((ScriptImportCommand) command).getCommands();
+				collect(nested, rules, opens, closes);
+			} else if (command instanceof LexiconOpenCommand) {
+				opens.add((LexiconOpenCommand<T>) command);
+			} else if (command instanceof LexiconCloseCommand) {
+				closes.add((LexiconCloseCommand<T>) command);
+			}
+		}
+	}
+
+	/**
+	 * Exposes only the application of a rule to a word, so that callers can
+	 * neither run it against a lexicon nor reach its mutable state
+	 */
+	private static final class RuleView<T> implements Rule<T> {
+
+		private final Rule<T> rule;
+
+		private RuleView(Rule<T> rule) {
+			this.rule = rule;
+		}
+
+		@Override
+		public int applyAtIndex(Sequence<T> sequence, int index) {
+			return rule.applyAtIndex(sequence, index);
+		}
+
+		@Override
+		public Sequence<T> apply(Sequence<T> sequence) {
+			return rule.apply(sequence);
+		}
+
+		@Override
+		public String toString() {
+			return rule.toString();
+		}
+	}
+}
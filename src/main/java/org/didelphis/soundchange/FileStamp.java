@@ -0,0 +1,86 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.didelphis.io.DiskFileHandler;
+import org.didelphis.io.FileHandler;
+import org.didelphis.soundchange.command.io.StreamingFileHandler;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Class {@code FileStamp}
+ *
+ * The size and modification time of a file on disk. Caches which key their
+ * entries by the digest of a file compare stamps first, and only read and
+ * digest the file again if its stamp has changed, in the same way as build
+ * tools decide whether a file is out of date.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@ToString
+@EqualsAndHashCode
+public final class FileStamp implements Serializable {
+
+	private final long size;
+	private final long modified;
+
+	private FileStamp(long size, long modified) {
+		this.size = size;
+		this.modified = modified;
+	}
+
+	/**
+	 * @param handler the handler through which the file is read
+	 * @param path    the path of the file
+	 *
+	 * @return the current stamp of the file, or {@code null} if the handler
+	 * 		does not read from disk or the file cannot be examined
+	 */
+	public static FileStamp of(FileHandler handler, String path) {
+		if (!(handler instanceof DiskFileHandler ||
+				handler instanceof StreamingFileHandler)) {
+			return null;
+		}
+		try {
+			Path file = Paths.get(path);
+			BasicFileAttributes attributes = Files.readAttributes(file,
+					BasicFileAttributes.class);
+			return new FileStamp(attributes.size(),
+					attributes.lastModifiedTime().toMillis());
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param handler the handler through which the file is read
+	 * @param path    the path of the file
+	 *
+	 * @return true if the file still has the same size and modification time
+	 */
+	public boolean matches(FileHandler handler, String path) {
+		return equals(of(handler, path));
+	}
+}
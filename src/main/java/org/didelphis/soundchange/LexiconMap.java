@@ -17,40 +17,75 @@ package org.didelphis.soundchange;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.didelphis.language.phonetic.Lexicon;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.command.io.DedupIndex;
+import org.didelphis.soundchange.command.io.LexiconSegmenters;
+import org.didelphis.soundchange.command.io.LexiconWrites;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * @author Samantha Fiona McCabe
  * @date 2015-01-16
  */
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = {"indices", "writes", "segmenters", "pool"})
+@EqualsAndHashCode(exclude = {"indices", "writes", "segmenters", "pool"})
 public class LexiconMap<T> {
 
 	private final Map<String, String> paths;
 	private final Map<String, Lexicon<T>> lexicons;
+	private final Map<String, DedupIndex<T>> indices;
+	private final LexiconWrites writes;
+	private final LexiconSegmenters segmenters;
+	private final SegmentPool<T> pool;
 
 	public LexiconMap(LexiconMap<T> map) {
 		paths = map.paths;
 		lexicons = map.lexicons;
+		indices = map.indices;
+		writes = map.writes;
+		segmenters = map.segmenters;
+		pool = map.pool;
 	}
 
 	public LexiconMap() {
 		paths = new LinkedHashMap<>();
 		lexicons = new LinkedHashMap<>();
+		indices = new HashMap<>();
+		writes = new LexiconWrites();
+		segmenters = new LexiconSegmenters();
+		pool = new SegmentPool<>();
 	}
 
 	public void addLexicon(String handle, String path, Lexicon<T> words) {
 		paths.put(handle, path);
 		lexicons.put(handle, words);
+		indices.remove(handle);
+	}
+
+	/**
+	 * Adds a lexicon of distinct forms, together with the index which maps
+	 * them back onto the rows of the original lexicon
+	 *
+	 * @param handle the handle of the lexicon
+	 * @param path   the path the lexicon was read from
+	 * @param words  a lexicon containing the distinct forms
+	 * @param index  the index over the distinct forms
+	 */
+	public void addLexicon(String handle, String path, Lexicon<T> words,
+			DedupIndex<T> index) {
+		addLexicon(handle, path, words);
+		indices.put(handle, index);
 	}
 
 	public void addAll(LexiconMap<T> map) {
 		paths.putAll(map.paths);
 		lexicons.putAll(map.lexicons);
+		indices.putAll(map.indices);
 	}
 
 	public Lexicon<T> getLexicon(String handle) {
@@ -69,12 +104,48 @@ public class LexiconMap<T> {
 		return lexicons.keySet();
 	}
 
+	/**
+	 * @param handle the handle of a lexicon
+	 *
+	 * @return the rows of the lexicon as they should be written; for a
+	 * 		deduplicated lexicon, these are the rows of the original lexicon
+	 */
+	public Iterable<List<Sequence<T>>> getRows(String handle) {
+		DedupIndex<T> index = indices.get(handle);
+		return index == null ? lexicons.get(handle) : index;
+	}
+
 	public Collection<Lexicon<T>> values() {
 		return lexicons.values();
 	}
 
+	/**
+	 * @return the writes started by {@code WRITE} commands against these
+	 * 		lexicons which may not have finished
+	 */
+	public LexiconWrites getWrites() {
+		return writes;
+	}
+
+	/**
+	 * @return the threads shared by {@code OPEN} commands against these
+	 * 		lexicons which segment in parallel
+	 */
+	public LexiconSegmenters getSegmenters() {
+		return segmenters;
+	}
+
+	/**
+	 * @return the pool of segments shared by these lexicons and the rules
+	 * 		which change them; it is discarded along with them
+	 */
+	public SegmentPool<T> getPool() {
+		return pool;
+	}
+
 	public Lexicon<T> remove(String handle) {
 		paths.remove(handle);
+		indices.remove(handle);
 		return lexicons.remove(handle);
 	}
 }
@@ -0,0 +1,242 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.language.phonetic.Lexicon;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.command.io.BinaryLexiconReader;
+import org.didelphis.soundchange.command.io.BinaryLexiconWriter;
+import org.didelphis.soundchange.command.io.LexiconCloseCommand;
+import org.didelphis.soundchange.command.io.LexiconFiles;
+import org.didelphis.soundchange.command.io.LexiconOpenCommand;
+import org.didelphis.soundchange.command.io.LexiconReader;
+import org.didelphis.soundchange.command.io.LexiconWriter;
+import org.didelphis.soundchange.command.rule.Rule;
+import org.didelphis.soundchange.event.ScriptEvent;
+import org.didelphis.soundchange.event.ScriptEvents;
+import org.didelphis.utilities.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Class {@code LexiconStream}
+ *
+ * Runs a script consisting of a single {@code OPEN}, any number of rules, and
+ * a {@code CLOSE} of the same lexicon, without holding the whole lexicon in
+ * memory. Rows are read in chunks; each chunk is registered under the lexicon's
+ * handle, passed through every rule in order, and appended to the output.
+ * Because rules only ever see one word at a time, the output is identical to
+ * running the commands in the usual way.
+ *
+ * Scripts of any other shape, including those which {@code WRITE} a lexicon
+ * before closing it, or which close a lexicon to the same path it was opened
+ * from, are not streamed.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class LexiconStream<T> {
+
+	private static final Logger LOG = Logger.create(LexiconStream.class);
+
+	private final LexiconMap<T> lexicons;
+	private final LexiconOpenCommand<T> open;
+	private final List<Runnable> rules;
+	private final LexiconCloseCommand<T> close;
+
+	private LexiconStream(
+			LexiconMap<T> lexicons,
+			LexiconOpenCommand<T> open,
+			List<Runnable> rules,
+			LexiconCloseCommand<T> close
+	) {
+		this.lexicons = lexicons;
+		this.open = open;
+		this.rules = rules;
+		this.close = close;
+	}
+
+	/**
+	 * Checks whether the provided commands can be streamed
+	 *
+	 * @param commands the commands of a compiled script
+	 * @param lexicons the lexicons used by those commands
+	 * @param <T>      the feature type
+	 *
+	 * @return a stream for the commands, or {@code null} if they must be run
+	 * 		in memory
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> LexiconStream<T> of(
+			Collection<Runnable> commands,
+			LexiconMap<T> lexicons
+	) {
+		List<Runnable> list = new ArrayList<>(commands);
+		if (list.size() < 2 || !lexicons.getHandles().isEmpty()) {
+			return null;
+		}
+		Runnable first = list.get(0);
+		Runnable last = list.get(list.size() - 1);
+		if (!(first instanceof LexiconOpenCommand) ||
+				!(last instanceof LexiconCloseCommand)) {
+			return null;
+		}
+		List<Runnable> rules = list.subList(1, list.size() - 1);
+		for (Runnable rule : rules) {
+			if (!(rule instanceof Rule)) {
+				return null;
+			}
+		}
+		LexiconOpenCommand<T> open = (LexiconOpenCommand<T>) first;
+		LexiconCloseCommand<T> close = (LexiconCloseCommand<T>) last;
+		if (!open.getHandle().equals(close.getHandle()) ||
+				open.getPath().equals(close.getPath())) {
+			return null;
+		}
+		return new LexiconStream<>(lexicons, open, rules, close);
+	}
+
+	/**
+	 * @param chunkSize the maximum number of rows to hold in memory
+	 */
+	void run(int chunkSize) {
+		String handle = open.getHandle();
+		String path = open.getPath();
+		long rows = 0;
+		ScriptEvent event = ScriptEvents.lexicon("STREAM", handle, path);
+		try (Source<T> source = openSource(); Sink<T> sink = openSink()) {
+			List<Sequence<T>> row = source.next();
+			while (row != null) {
+				Lexicon<T> chunk = new Lexicon<>();
+				for (int i = 0; i < chunkSize && row != null; i++) {
+					chunk.add(row);
+					row = source.next();
+					rows++;
+				}
+				lexicons.addLexicon(handle, path, chunk);
+				for (Runnable rule : rules) {
+					rule.run();
+				}
+				for (List<Sequence<T>> sequences : chunk) {
+					sink.accept(sequences);
+				}
+			}
+		} catch (IOException e) {
+			LOG.error("Failed to stream lexicon {} to {}", path,
+					close.getPath(), e);
+		} finally {
+			lexicons.remove(handle);
+		}
+		if (event != null) {
+			event.end();
+			if (event.shouldCommit()) {
+				event.setRows(rows);
+				event.setBytes(LexiconFiles.size(open.getHandler(), path));
+				event.commit();
+			}
+		}
+		LOG.info("Streamed {} rows from {} to {}", rows, path, close.getPath());
+	}
+
+	private Source<T> openSource() throws IOException {
+		String path = open.getPath();
+		SequenceFactory<T> factory = open.getFactory();
+		if (LexiconFiles.isBinary(path)) {
+			BinaryLexiconReader<T> reader = new BinaryLexiconReader<>(
+					LexiconFiles.newInputStream(open.getHandler(), path),
+					factory, path, lexicons.getPool());
+			return new Source<T>() {
+				@Override
+				public List<Sequence<T>> next() throws IOException {
+					return reader.readRow();
+				}
+
+				@Override
+				public void close() throws IOException {
+					reader.close();
+				}
+			};
+		}
+		LexiconReader reader = new LexiconReader(
+				LexiconFiles.newReader(open.getHandler(), path));
+		SegmentPool<T> pool = lexicons.getPool();
+		return new Source<T>() {
+			@Override
+			public List<Sequence<T>> next() throws IOException {
+				List<String> row = reader.readRow();
+				if (row == null) {
+					return null;
+				}
+				List<Sequence<T>> sequences = new ArrayList<>(row.size());
+				for (String cell : row) {
+					sequences.add(pool.intern(factory.toSequence(cell)));
+				}
+				return sequences;
+			}
+
+			@Override
+			public void close() throws IOException {
+				reader.close();
+			}
+		};
+	}
+
+	private Sink<T> openSink() throws IOException {
+		String path = close.getPath();
+		if (LexiconFiles.isBinary(path)) {
+			BinaryLexiconWriter<T> writer = new BinaryLexiconWriter<>(
+					LexiconFiles.newOutputStream(close.getHandler(), path));
+			return new Sink<T>() {
+				@Override
+				public void accept(List<Sequence<T>> row) throws IOException {
+					writer.writeRow(row);
+				}
+
+				@Override
+				public void close() throws IOException {
+					writer.close();
+				}
+			};
+		}
+		LexiconWriter writer = new LexiconWriter(
+				LexiconFiles.newWriter(close.getHandler(), path),
+				close.getMode());
+		return new Sink<T>() {
+			@Override
+			public void accept(List<Sequence<T>> row) throws IOException {
+				writer.writeRow(row);
+			}
+
+			@Override
+			public void close() throws IOException {
+				writer.close();
+			}
+		};
+	}
+
+	private interface Source<T> extends Closeable {
+		List<Sequence<T>> next() throws IOException;
+	}
+
+	private interface Sink<T> extends Closeable {
+		void accept(List<Sequence<T>> row) throws IOException;
+	}
+}
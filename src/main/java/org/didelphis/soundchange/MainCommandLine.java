@@ -17,13 +17,21 @@ package org.didelphis.soundchange;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.UtilityClass;
-import org.didelphis.io.DiskFileHandler;
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.soundchange.command.io.StreamingFileHandler;
 import org.didelphis.utilities.Logger;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Samantha Fiona McCabe
@@ -36,20 +44,160 @@ public final class MainCommandLine {
 	Logger LOG = Logger.create(MainCommandLine.class);
 	double NANO = 10.0E-9;
 
+	String CACHE_FLAG = "--cache";
+	String STREAM_FLAG = "--stream";
+	String MAP_FLAG = "--map=";
+	String PARALLEL_FLAG = "--parallel=";
+	String SEGMENT_CACHE_FLAG = "--segment-cache=";
+	String EXPANSION_LIMIT_FLAG = "--expansion-limit=";
+	String ENCODING_FLAG = "--encoding=";
+	String OFF_HEAP_FLAG = "--off-heap";
+	String DEDUP_FLAG = "--dedup";
+	String METRICS_FLAG = "--metrics";
+	String JOBS_FLAG = "--jobs=";
+	String DAEMON_FLAG = "--daemon=";
+	String FILTER_FLAG = "--filter";
+
+	/**
+	 * Runs each of the scripts named in the arguments, in order. The flag
+	 * {@code --cache} may be provided anywhere in the arguments, in which case
+	 * compiled scripts are read from and written to a cache file next to each
+	 * script (see {@link ScriptCache}). The flag {@code --stream} enables
+	 * streaming for scripts which only open, change, and close one lexicon
+	 * (see {@link ScriptOptions#isStreaming()}). The flag {@code --map=N}
+	 * memory-maps lexicons of at least {@code N} bytes (see {@link
+	 * ScriptOptions#getMappingThreshold()}), and {@code --parallel=N} segments
+	 * lexicons on {@code N} threads (see {@link
+	 * ScriptOptions#getParallelism()}). The flag {@code --segment-cache=N}
+	 * caches the segmentation of up to {@code N} distinct strings per lexicon
+	 * (see {@link ScriptOptions#getSegmentationCacheSize()}), and {@code
+	 * --off-heap} stores lexicons outside the heap (see {@link
+	 * ScriptOptions#isOffHeap()}). The flag {@code --dedup} applies rules once
+	 * to each distinct form (see {@link ScriptOptions#isDeduplicating()}), and
+	 * {@code --metrics} reports the work done by each rule (see {@link
+	 * ScriptOptions#isCollectingMetrics()}). The flag {@code
+	 * --expansion-limit=N} fails any variable definition which expands to
+	 * more than {@code N} values (see {@link
+	 * ScriptOptions#getExpansionLimit()}), and {@code --encoding=CHARSET}
+	 * reads and writes files in a charset other than UTF-8 (see {@link
+	 * ScriptOptions#getCharset()}).
+	 *
+	 * With the flag {@code --jobs=N} and {@code N} greater than 1, the scripts
+	 * are instead run concurrently on {@code N} threads, except that scripts
+	 * which write a lexicon another script reads or writes run in order (see
+	 * {@link ScriptBatch}). The process then exits with status 1 if any script
+	 * fails.
+	 *
+	 * With the flag {@code --daemon=PORT}, no scripts are run; instead the
+	 * process listens for requests on the provided local port until it is
+	 * stopped (see {@link ScriptDaemon}). With the flag {@code --filter}, the
+	 * rules of a single script are applied to each line of standard input and
+	 * the results written to standard output (see {@link ScriptFilter}).
+	 *
+	 * @param args the paths of the scripts to run, and any flags
+	 *
+	 * @throws IOException if a script cannot be read
+	 */
 	public static void main(String... args) throws IOException {
 		if (args.length == 0) {
 			throw new IllegalArgumentException("No arguments were provided!");
 		} else {
+			boolean useCache = false;
+			int jobs = 1;
+			int port = -1;
+			boolean filter = false;
+			ScriptOptions options = new ScriptOptions();
+			List<String> scripts = new ArrayList<>();
 			for (String arg : args) {
+				if (arg.equals(CACHE_FLAG)) {
+					useCache = true;
+				} else if (arg.equals(STREAM_FLAG)) {
+					options.setStreaming(true);
+				} else if (arg.equals(OFF_HEAP_FLAG)) {
+					options.setOffHeap(true);
+				} else if (arg.equals(FILTER_FLAG)) {
+					filter = true;
+				} else if (arg.equals(DEDUP_FLAG)) {
+					options.setDeduplicating(true);
+				} else if (arg.equals(METRICS_FLAG)) {
+					options.setCollectingMetrics(true);
+				} else if (arg.startsWith(MAP_FLAG)) {
+					String value = arg.substring(MAP_FLAG.length());
+					options.setMappingThreshold(Long.parseLong(value));
+				} else if (arg.startsWith(PARALLEL_FLAG)) {
+					String value = arg.substring(PARALLEL_FLAG.length());
+					options.setParallelism(Integer.parseInt(value));
+				} else if (arg.startsWith(DAEMON_FLAG)) {
+					port = Integer.parseInt(arg.substring(DAEMON_FLAG.length()));
+				} else if (arg.startsWith(JOBS_FLAG)) {
+					jobs = Integer.parseInt(arg.substring(JOBS_FLAG.length()));
+				} else if (arg.startsWith(SEGMENT_CACHE_FLAG)) {
+					String value = arg.substring(SEGMENT_CACHE_FLAG.length());
+					options.setSegmentationCacheSize(Integer.parseInt(value));
+				} else if (arg.startsWith(EXPANSION_LIMIT_FLAG)) {
+					String value = arg.substring(EXPANSION_LIMIT_FLAG.length());
+					options.setExpansionLimit(Integer.parseInt(value));
+				} else if (arg.startsWith(ENCODING_FLAG)) {
+					String value = arg.substring(ENCODING_FLAG.length());
+					options.setCharset(Charset.forName(value));
+				} else {
+					scripts.add(arg);
+				}
+			}
+			if (port >= 0) {
+				try (ScriptDaemon daemon = new ScriptDaemon(port, options)) {
+					daemon.serve();
+				}
+				return;
+			}
+			if (filter) {
+				if (scripts.size() != 1) {
+					throw new IllegalArgumentException(
+							"Filter mode requires exactly one script");
+				}
+				String path = scripts.get(0);
+				FileHandler handler = new StreamingFileHandler(
+						options.getCharset());
+				ScriptFilter<?> scriptFilter = new ScriptFilter<>(
+						new CompiledScript<>(path, IntegerFeature.INSTANCE,
+								handler.read(path), handler, options));
+				BufferedReader reader = new BufferedReader(
+						new InputStreamReader(System.in, options.getCharset()));
+				Writer writer = new BufferedWriter(
+						new OutputStreamWriter(System.out, options.getCharset()));
+				scriptFilter.filter(reader, writer, options.getChunkSize());
+				return;
+			}
+			if (jobs > 1) {
+				ScriptBatch batch = new ScriptBatch(
+						() -> new StreamingFileHandler(options.getCharset()),
+						options,
+						useCache,
+						jobs
+				);
+				int failures = batch.run(scripts);
+				if (failures > 0) {
+					LOG.error("{} of {} scripts failed", failures,
+							scripts.size());
+					System.exit(1);
+				}
+				return;
+			}
+			for (String arg : scripts) {
 				double startTime = System.nanoTime();
-				FileHandler handler = new DiskFileHandler("UTF-8");
+				FileHandler handler = new StreamingFileHandler(
+						options.getCharset());
 				String read = handler.read(arg);
 				FeatureType<?> type = IntegerFeature.INSTANCE;
-				SoundChangeScript<?> script = new StandardScript<>(arg,
+				SoundChangeScript<?> script = useCache
+						? ScriptCache.load(arg, type, read, handler,
+						new ErrorLogger(), options)
+						: new StandardScript<>(arg,
 						type,
 						read,
 						handler,
-						new ErrorLogger()
+						new ErrorLogger(),
+						options
 				);
 				script.process();
 
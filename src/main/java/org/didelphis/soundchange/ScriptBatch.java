@@ -0,0 +1,331 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.utilities.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class {@code ScriptBatch}
+ *
+ * Runs several scripts concurrently on a bounded pool of threads. Every script
+ * is compiled first, so that the paths it reads and writes are known. Scripts
+ * which write a path that another script reads or writes, compared as
+ * absolute, normalized paths, are placed in the same group; each group runs
+ * its scripts in the order they were provided, and separate groups run in
+ * parallel. If a script fails, the later scripts in its group are skipped.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class ScriptBatch {
+
+	private static final Logger LOG = Logger.create(ScriptBatch.class);
+	private static final double NANO = 1.0E-9;
+	private static final Pattern QUOTED = Pattern.compile("([\"'])(.*?)\\1");
+
+	private final Supplier<? extends FileHandler> handlers;
+	private final ScriptOptions options;
+	private final boolean useCache;
+	private final int threads;
+
+	/**
+	 * @param handlers supplies a file handler for each script
+	 * @param options  the options used to compile and run every script
+	 * @param useCache whether compiled scripts are read from and written to
+	 *                 the cache (see {@link ScriptCache})
+	 * @param threads  the maximum number of scripts compiled or run at once
+	 */
+	public ScriptBatch(Supplier<? extends FileHandler> handlers,
+			ScriptOptions options, boolean useCache, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException(
+					"Thread count must be positive: " + threads);
+		}
+		this.handlers = handlers;
+		this.options = options;
+		this.useCache = useCache;
+		this.threads = threads;
+	}
+
+	/**
+	 * Compiles and runs the provided scripts, returning once all have finished
+	 *
+	 * @param scripts the paths of the scripts to run
+	 *
+	 * @return the number of scripts which failed to compile or run, or were
+	 * 		skipped following an earlier failure
+	 *
+	 * @throws Error the first error thrown by a running script, once every
+	 * 		other group has finished
+	 */
+	public int run(List<String> scripts) {
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				runnable -> {
+					Thread thread = new Thread(runnable, "script-batch");
+					thread.setDaemon(true);
+					return thread;
+				});
+		try {
+			List<Future<Job>> compiling = new ArrayList<>(scripts.size());
+			for (String path : scripts) {
+				compiling.add(executor.submit(() -> compile(path)));
+			}
+
+			List<Job> jobs = new ArrayList<>(scripts.size());
+			for (int i = 0; i < scripts.size(); i++) {
+				try {
+					jobs.add(compiling.get(i).get());
+				} catch (ExecutionException e) {
+					LOG.error("Failed to compile script {}", scripts.get(i),
+							e.getCause());
+					jobs.add(Job.failed(scripts.get(i), null));
+				}
+			}
+
+			int failures = 0;
+			AtomicReference<Error> error = new AtomicReference<>();
+			List<Future<Integer>> running = new ArrayList<>();
+			for (List<Integer> group : group(jobs)) {
+				List<Job> members = new ArrayList<>(group.size());
+				for (int index : group) {
+					members.add(jobs.get(index));
+				}
+				running.add(executor.submit(() -> runAll(members, error)));
+			}
+			for (Future<Integer> future : running) {
+				try {
+					failures += future.get();
+				} catch (ExecutionException e) {
+					// Failures are counted by runAll
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+			// Only once every group has finished, so that none is cut short
+			if (error.get() != null) {
+				throw error.get();
+			}
+			return failures;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while running scripts");
+			return scripts.size();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Partitions the provided scripts so that any two scripts which conflict,
+	 * directly or through other scripts, are in the same group. Scripts which
+	 * failed to compile are included, so that the scripts after them in their
+	 * group are skipped.
+	 *
+	 * @param jobs the scripts, in the order they are to run
+	 *
+	 * @return the indices of the scripts in each group, in ascending order;
+	 * 		groups are ordered by their first script
+	 */
+	static List<List<Integer>> group(List<Job> jobs) {
+		int size = jobs.size();
+		int[] parents = new int[size];
+		for (int i = 0; i < size; i++) {
+			parents[i] = i;
+			for (int j = 0; j < i; j++) {
+				if (conflicts(jobs.get(j), jobs.get(i))) {
+					int a = find(parents, i);
+					int b = find(parents, j);
+					// Keep the earliest script as the root
+					parents[Math.max(a, b)] = Math.min(a, b);
+				}
+			}
+		}
+		Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			groups.computeIfAbsent(find(parents, i), k -> new ArrayList<>())
+					.add(i);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	private static boolean conflicts(Job earlier, Job later) {
+		if (earlier.paths == null) {
+			// Nothing is known of what it would have written
+			return true;
+		}
+		return later.paths != null && (
+				intersects(earlier.outputs, later.paths)
+						|| intersects(later.outputs, earlier.paths));
+	}
+
+	private static boolean intersects(Collection<String> outputs,
+			Collection<String> paths) {
+		Set<Path> normalized = new HashSet<>();
+		for (String path : paths) {
+			normalized.add(normalize(path));
+		}
+		for (String path : outputs) {
+			if (normalized.contains(normalize(path))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the absolute form of the path, so that different spellings of
+	 * 		the same file, such as {@code out.lex} and {@code ./out.lex}, are
+	 * 		equal
+	 */
+	private static Path normalize(String path) {
+		return Paths.get(path).toAbsolutePath().normalize();
+	}
+
+	private static int find(int[] parents, int index) {
+		int root = index;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		while (parents[index] != root) {
+			int next = parents[index];
+			parents[index] = root;
+			index = next;
+		}
+		return root;
+	}
+
+	private Job compile(String path) {
+		long start = System.nanoTime();
+		FileHandler handler = handlers.get();
+		String read = null;
+		try {
+			read = handler.read(path);
+			FeatureType<Integer> type = IntegerFeature.INSTANCE;
+			StandardScript<?> script = useCache
+					? ScriptCache.load(path, type, read, handler,
+					new ErrorLogger(), options)
+					: new StandardScript<>(path, type, read, handler,
+					new ErrorLogger(), options);
+			return Job.compiled(path, script, System.nanoTime() - start);
+		} catch (IOException | RuntimeException e) {
+			LOG.error("Failed to compile script {}", path, e);
+			return Job.failed(path, read);
+		}
+	}
+
+	private static int runAll(List<Job> group, AtomicReference<Error> error) {
+		int failures = 0;
+		String failed = null;
+		for (Job job : group) {
+			if (failed != null) {
+				LOG.warn("Skipping script {} after failure of {}", job.path,
+						failed);
+				failures++;
+				continue;
+			}
+			if (job.script == null) {
+				// Already reported when it failed to compile
+				failed = job.path;
+				failures++;
+				continue;
+			}
+			long start = System.nanoTime();
+			try {
+				job.script.process();
+				double time = (System.nanoTime() - start + job.compileTime) * NANO;
+				LOG.info("Finished script {} in {} seconds", job.path, time);
+			} catch (RuntimeException | Error e) {
+				LOG.error("Failed to run script {}", job.path, e);
+				failed = job.path;
+				failures++;
+				if (e instanceof Error) {
+					error.compareAndSet(null, (Error) e);
+				}
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * A script in the batch, either compiled or having failed to compile. The
+	 * paths of a script which failed are guessed from the quoted strings in
+	 * its source, which is where every command names its files; if even the
+	 * source could not be read, they are unknown.
+	 */
+	static final class Job {
+		private final String path;
+		private final StandardScript<?> script;
+		private final long compileTime;
+		private final Collection<String> paths;
+		private final Collection<String> outputs;
+
+		private Job(String path, StandardScript<?> script, long compileTime,
+				Collection<String> paths, Collection<String> outputs) {
+			this.path = path;
+			this.script = script;
+			this.compileTime = compileTime;
+			this.paths = paths;
+			this.outputs = outputs;
+		}
+
+		static Job compiled(String path, StandardScript<?> script,
+				long compileTime) {
+			return new Job(path, script, compileTime, script.getPaths(),
+					script.getOutputs());
+		}
+
+		/**
+		 * @param path   the path of the script
+		 * @param source the source of the script, or {@code null} if it could
+		 *               not be read
+		 */
+		static Job failed(String path, String source) {
+			if (source == null) {
+				return new Job(path, null, 0, null, null);
+			}
+			Path parent = Paths.get(path).getParent();
+			Collection<String> quoted = new ArrayList<>();
+			Matcher matcher = QUOTED.matcher(source);
+			while (matcher.find()) {
+				String file = matcher.group(2);
+				quoted.add(parent == null ? file : parent.resolve(file).toString());
+			}
+			// Any of them may have been written
+			return new Job(path, null, 0, quoted, quoted);
+		}
+	}
+}
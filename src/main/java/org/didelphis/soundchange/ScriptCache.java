@@ -0,0 +1,267 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.UtilityClass;
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.parsing.ParseException;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.soundchange.parser.ScriptParser;
+import org.didelphis.utilities.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class {@code ScriptCache}
+ *
+ * Stores compiled scripts next to their source file, so that a script whose
+ * source, imports, and models are unchanged can be loaded without parsing its
+ * imports again. Entries are keyed by a SHA-256 digest of every file returned
+ * by {@link ScriptParser#getDependencies()}; if any of these has changed, the
+ * script is recompiled and the cache rewritten. A dependency on disk whose
+ * size and modification time are unchanged (see {@link FileStamp}) is not read
+ * or digested again.
+ *
+ * The commands of a script hold feature models, sequences, and state machines,
+ * which cannot be serialized. The cache therefore holds the source of the
+ * script as it was parsed (see {@link ScriptParser#getSource()}), with every
+ * import inlined and every path resolved, together with the paths the script
+ * reads and writes. A cached script is compiled from this source, without
+ * reading or parsing any imported script. Rules and conditions are still
+ * compiled on every load, so the cache saves reading and parsing imports, not
+ * compiling the script itself.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@UtilityClass
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ScriptCache {
+
+	public String EXTENSION = ".cache";
+
+	Logger LOG = Logger.create(ScriptCache.class);
+	int VERSION = 5;
+
+	/**
+	 * Returns a compiled script, from the cache if it is present and valid,
+	 * otherwise by compiling it and writing the result to the cache.
+	 *
+	 * @param filePath the path of the script
+	 * @param type     the feature type used to compile the script
+	 * @param script   the contents of the script
+	 * @param handler  the file handler used to read and write the script,
+	 *                 its dependencies, and the cache
+	 * @param logger   the error logger used during compilation
+	 * @param <T>      the feature type
+	 *
+	 * @return the compiled script; never {@code null}
+	 */
+	public <T> StandardScript<T> load(
+			String filePath,
+			FeatureType<T> type,
+			String script,
+			FileHandler handler,
+			ErrorLogger logger
+	) {
+		return load(filePath, type, script, handler, logger,
+				new ScriptOptions());
+	}
+
+	/**
+	 * As {@link #load(String, FeatureType, String, FileHandler, ErrorLogger)},
+	 * but compiling the script with the provided options. A cached script is
+	 * only used if it was compiled with equal options.
+	 *
+	 * @param filePath the path of the script
+	 * @param type     the feature type used to compile the script
+	 * @param script   the contents of the script
+	 * @param handler  the file handler used to read and write the script,
+	 *                 its dependencies, and the cache
+	 * @param logger   the error logger used during compilation
+	 * @param options  the options used to compile and run the script
+	 * @param <T>      the feature type
+	 *
+	 * @return the compiled script; never {@code null}
+	 */
+	public <T> StandardScript<T> load(
+			String filePath,
+			FeatureType<T> type,
+			String script,
+			FileHandler handler,
+			ErrorLogger logger,
+			ScriptOptions options
+	) {
+		String cachePath = filePath + EXTENSION;
+		StandardScript<T> cached = read(filePath, type, script, handler,
+				logger, options);
+		if (cached != null) {
+			LOG.info("Loaded compiled script {} from {}", filePath, cachePath);
+			return cached;
+		}
+
+		ScriptParser<T> parser = new ScriptParser<>(
+				filePath,
+				type,
+				script,
+				handler,
+				logger,
+				options
+		);
+		parser.parse();
+
+		try {
+			Map<String, String> digests = new LinkedHashMap<>();
+			Map<String, FileStamp> stamps = new LinkedHashMap<>();
+			digests.put(filePath, digest(script));
+			for (String path : parser.getDependencies()) {
+				// Stamped before reading, so that a change made meanwhile is
+				// caught by the digest next time
+				FileStamp stamp = FileStamp.of(handler, path);
+				if (stamp != null) {
+					stamps.put(path, stamp);
+				}
+				digests.put(path, digest(handler.read(path)));
+			}
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeInt(VERSION);
+				out.writeObject(type.getClass().getName());
+				out.writeObject(digests);
+				out.writeObject(stamps);
+				out.writeObject(options);
+				out.writeObject(new ArrayList<>(parser.getSource()));
+				out.writeObject(new ArrayList<>(parser.getPaths()));
+				out.writeObject(new ArrayList<>(parser.getOutputs()));
+			}
+			String data = Base64.getEncoder().encodeToString(bytes.toByteArray());
+			handler.writeString(cachePath, data);
+		} catch (IOException e) {
+			LOG.warn("Compiled script {} could not be cached", filePath, e);
+		}
+		return new StandardScript<>(filePath, handler,
+				parser.getMemory().getLexicons(), parser.getCommands(),
+				options, parser.getPaths(), parser.getOutputs());
+	}
+
+	/**
+	 * Computes the hexadecimal SHA-256 digest of the provided string
+	 *
+	 * @param data the string to digest; {@code null} is treated as empty
+	 *
+	 * @return the digest as a lower-case hexadecimal string
+	 */
+	public String digest(String data) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] bytes = data == null
+					? new byte[0]
+					: data.getBytes(StandardCharsets.UTF_8);
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest(bytes)) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every JVM is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> StandardScript<T> read(
+			String filePath,
+			FeatureType<T> type,
+			String script,
+			FileHandler handler,
+			ErrorLogger logger,
+			ScriptOptions options
+	) {
+		String cachePath = filePath + EXTENSION;
+		try {
+			String data = handler.read(cachePath);
+			if (data == null || data.isEmpty()) {
+				return null;
+			}
+			byte[] bytes = Base64.getDecoder().decode(data.trim());
+			List<String> source;
+			Collection<String> paths;
+			Collection<String> outputs;
+			try (ObjectInputStream in = new ObjectInputStream(
+					new ByteArrayInputStream(bytes))) {
+				if (in.readInt() != VERSION ||
+						!type.getClass().getName().equals(in.readObject())) {
+					return null;
+				}
+				Map<String, String> digests = (Map<String, String>) in.readObject();
+				Map<String, FileStamp> stamps =
+						(Map<String, FileStamp>) in.readObject();
+				for (Map.Entry<String, String> entry : digests.entrySet()) {
+					String path = entry.getKey();
+					FileStamp stamp = stamps.get(path);
+					if (stamp != null && stamp.matches(handler, path)) {
+						continue;
+					}
+					String current = path.equals(filePath)
+							? digest(script)
+							: digest(handler.read(path));
+					if (!current.equals(entry.getValue())) {
+						LOG.info("Cache for {} is stale; {} has changed",
+								filePath, path);
+						return null;
+					}
+				}
+				if (!options.equals(in.readObject())) {
+					LOG.info("Cache for {} was compiled with other options",
+							filePath);
+					return null;
+				}
+				source = (List<String>) in.readObject();
+				paths = (Collection<String>) in.readObject();
+				outputs = (Collection<String>) in.readObject();
+			}
+			ScriptParser<T> parser = ScriptParser.fromSource(filePath, type,
+					source, handler, logger, options);
+			parser.parse();
+			return new StandardScript<>(filePath, handler,
+					parser.getMemory().getLexicons(), parser.getCommands(),
+					options, paths, outputs);
+		} catch (IOException | ClassNotFoundException | ClassCastException |
+				IllegalArgumentException e) {
+			// Missing, unreadable, or incompatible cache: recompile
+			return null;
+		} catch (ParseException e) {
+			LOG.warn("Cache for {} could not be compiled", filePath, e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,361 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.soundchange.command.io.StreamingFileHandler;
+import org.didelphis.soundchange.parser.ScriptParser;
+import org.didelphis.utilities.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Class {@code ScriptDaemon}
+ *
+ * Serves requests to run scripts over a TCP socket bound to the loopback
+ * address, so that repeated runs avoid the cost of starting the JVM and
+ * compiling the script. Compiled scripts are kept until the modification time
+ * of the script, or of any file it was compiled from, changes. Those times are
+ * checked at most once per check interval for each script, one second by
+ * default, so that a burst of requests does not read them for every request.
+ * A script requested by several connections at once is compiled only once,
+ * while other scripts are compiled and served independently.
+ *
+ * Each connection may send any number of requests, each a single line:
+ * <ul>
+ *     <li>{@code RUN path} runs the script, and replies {@code OK} followed by
+ *     the time taken in seconds</li>
+ *     <li>{@code APPLY path} is followed by one word per line and an empty
+ *     line; the rules of the script are applied to the words (see {@link
+ *     CompiledScript}), and the reply is {@code OK} followed by the number of
+ *     words, then one changed word per line</li>
+ * </ul>
+ * A request which fails is answered with {@code ERROR} followed by a message.
+ * Connections are served concurrently. A script only handles one {@code RUN}
+ * at a time, because it holds the lexicons it works on, but any number of
+ * {@code APPLY} requests may use it at once.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class ScriptDaemon implements Closeable {
+
+	private static final Logger LOG = Logger.create(ScriptDaemon.class);
+	private static final double NANO = 1.0E-9;
+	private static final long CHECK_INTERVAL = 1000;
+
+	private final ServerSocket server;
+	private final ExecutorService executor;
+	private final ScriptOptions options;
+	private final long checkInterval;
+	private final ConcurrentMap<String, CompletableFuture<Entry>> scripts;
+
+	/**
+	 * @param port    the port to listen on, or 0 for any free port
+	 * @param options the options used to compile and run scripts
+	 *
+	 * @throws IOException if the socket cannot be bound
+	 */
+	public ScriptDaemon(int port, ScriptOptions options) throws IOException {
+		this(port, options, CHECK_INTERVAL);
+	}
+
+	/**
+	 * @param port          the port to listen on, or 0 for any free port
+	 * @param options       the options used to compile and run scripts
+	 * @param checkInterval the minimum time in milliseconds between checks of
+	 *                      whether a compiled script has changed
+	 *
+	 * @throws IOException if the socket cannot be bound
+	 */
+	public ScriptDaemon(int port, ScriptOptions options, long checkInterval)
+			throws IOException {
+		this.options = options;
+		this.checkInterval = checkInterval;
+		server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "script-daemon");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scripts = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @return the port the daemon is listening on
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Accepts connections until the daemon is closed
+	 *
+	 * @throws IOException if the socket fails other than by being closed
+	 */
+	public void serve() throws IOException {
+		LOG.info("Listening on port {}", getPort());
+		while (!server.isClosed()) {
+			Socket socket;
+			try {
+				socket = server.accept();
+			} catch (SocketException e) {
+				if (server.isClosed()) {
+					return;
+				}
+				throw e;
+			}
+			executor.execute(() -> handle(socket));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		server.close();
+		executor.shutdownNow();
+	}
+
+	private void handle(Socket socket) {
+		try (Socket s = socket;
+		     BufferedReader reader = new BufferedReader(new InputStreamReader(
+				     s.getInputStream(), StandardCharsets.UTF_8));
+		     Writer writer = new BufferedWriter(new OutputStreamWriter(
+				     s.getOutputStream(), StandardCharsets.UTF_8))) {
+			for (String line = reader.readLine(); line != null;
+			     line = reader.readLine()) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				int space = line.indexOf(' ');
+				String command = space < 0 ? line : line.substring(0, space);
+				String path = space < 0 ? "" : line.substring(space + 1).trim();
+				try {
+					if (command.equalsIgnoreCase("RUN")) {
+						writer.write("OK " + run(path) + '\n');
+					} else if (command.equalsIgnoreCase("APPLY")) {
+						List<String> words = new ArrayList<>();
+						for (String word = reader.readLine();
+						     word != null && !word.isEmpty();
+						     word = reader.readLine()) {
+							words.add(word);
+						}
+						List<String> output = apply(path, words);
+						writer.write("OK " + output.size() + '\n');
+						for (String word : output) {
+							writer.write(word + '\n');
+						}
+					} else {
+						writer.write("ERROR Unrecognized request " + command + '\n');
+					}
+				} catch (IOException | RuntimeException e) {
+					LOG.error("Failed to serve request {}", line, e);
+					writeError(writer, e);
+				} catch (Error e) {
+					// Answer before the connection is dropped, so that the
+					// client is not left waiting for a reply
+					LOG.error("Failed to serve request {}", line, e);
+					writeError(writer, e);
+					writer.flush();
+					throw e;
+				}
+				writer.flush();
+			}
+		} catch (IOException e) {
+			LOG.warn("Connection closed unexpectedly", e);
+		}
+	}
+
+	private static void writeError(Writer writer, Throwable e)
+			throws IOException {
+		String message = String.valueOf(e.getMessage());
+		writer.write("ERROR " + message.replace('\n', ' ') + '\n');
+	}
+
+	private double run(String path) throws IOException {
+		Entry entry = getEntry(path);
+		synchronized (entry) {
+			long start = System.nanoTime();
+			entry.script.process();
+			double time = (System.nanoTime() - start) * NANO;
+			LOG.info("Finished script {} in {} seconds", path, time);
+			return time;
+		}
+	}
+
+	private List<String> apply(String path, List<String> words)
+			throws IOException {
+		CompiledScript<Integer> compiled = getEntry(path).compiled;
+		List<String> output = new ArrayList<>(words.size());
+		for (String word : words) {
+			output.add(compiled.apply(word));
+		}
+		return output;
+	}
+
+	/**
+	 * @return the compiled script at the provided path, compiling it if it
+	 * 		has not been compiled or any of its sources have changed since they
+	 * 		were last checked
+	 */
+	private Entry getEntry(String path) throws IOException {
+		while (true) {
+			CompletableFuture<Entry> current = scripts.get(path);
+			if (current != null) {
+				if (!current.isDone()) {
+					// Another thread is compiling it
+					return join(current);
+				}
+				if (!current.isCompletedExceptionally() &&
+						current.join().isCurrent(checkInterval)) {
+					return current.join();
+				}
+			}
+			// Only the thread which installs its future compiles the script,
+			// so that other scripts are not held up while it does
+			CompletableFuture<Entry> future = new CompletableFuture<>();
+			boolean installed = current == null
+					? scripts.putIfAbsent(path, future) == null
+					: scripts.replace(path, current, future);
+			if (!installed) {
+				continue;
+			}
+			try {
+				Entry entry = compile(path);
+				future.complete(entry);
+				return entry;
+			} catch (Throwable e) {
+				// Completed even on errors, so that no waiting thread is
+				// left blocked; each of them rethrows it from join
+				scripts.remove(path, future);
+				future.completeExceptionally(e);
+				throw e;
+			}
+		}
+	}
+
+	private static Entry join(CompletableFuture<Entry> future)
+			throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private Entry compile(String path) throws IOException {
+		long start = System.nanoTime();
+		FileHandler handler = new StreamingFileHandler(options.getCharset());
+		// Read the times first, so that changes made while compiling are seen
+		Map<String, Long> times = new LinkedHashMap<>();
+		times.put(path, lastModified(path));
+		String data = handler.read(path);
+		if (data == null) {
+			throw new IOException("Script " + path + " could not be read");
+		}
+		ScriptParser<Integer> parser = new ScriptParser<>(path,
+				IntegerFeature.INSTANCE, data, handler, new ErrorLogger(),
+				options);
+		parser.parse();
+		for (String dependency : parser.getDependencies()) {
+			times.put(dependency, lastModified(dependency));
+		}
+		StandardScript<Integer> script = new StandardScript<>(path, handler,
+				parser.getMemory().getLexicons(), parser.getCommands(),
+				options, parser.getPaths(), parser.getOutputs());
+		CompiledScript<Integer> compiled = new CompiledScript<>(parser);
+		double time = (System.nanoTime() - start) * NANO;
+		LOG.info("Compiled script {} in {} seconds", path, time);
+		return new Entry(script, compiled, times);
+	}
+
+	private static long lastModified(String path) {
+		try {
+			return Files.getLastModifiedTime(Paths.get(path)).toMillis();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	private static final class Entry {
+		private final StandardScript<Integer> script;
+		private final CompiledScript<Integer> compiled;
+		private final Map<String, Long> times;
+		private volatile long checked;
+
+		private Entry(StandardScript<Integer> script,
+				CompiledScript<Integer> compiled, Map<String, Long> times) {
+			this.script = script;
+			this.compiled = compiled;
+			this.times = times;
+			checked = System.currentTimeMillis();
+		}
+
+		/**
+		 * @param interval the time in milliseconds for which the result of
+		 *                 the last check is trusted
+		 *
+		 * @return true if no source of the script had changed when last
+		 * 		checked, checking again if the interval has passed since
+		 */
+		private boolean isCurrent(long interval) {
+			long now = System.currentTimeMillis();
+			if (now - checked < interval) {
+				return true;
+			}
+			for (Map.Entry<String, Long> entry : times.entrySet()) {
+				if (lastModified(entry.getKey()) != entry.getValue()) {
+					return false;
+				}
+			}
+			checked = now;
+			return true;
+		}
+	}
+}
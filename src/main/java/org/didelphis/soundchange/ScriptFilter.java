@@ -0,0 +1,97 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class {@code ScriptFilter}
+ *
+ * Applies the rules of a script to words read line by line, so that a script
+ * can be used as a filter in a pipeline. Each line is treated as a row of a
+ * lexicon, with cells separated by tabs. See {@link CompiledScript} for which
+ * commands of the script are used.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class ScriptFilter<T> {
+
+	private final CompiledScript<T> script;
+
+	public ScriptFilter(CompiledScript<T> script) {
+		this.script = script;
+	}
+
+	/**
+	 * @param line a row of words, separated by tabs
+	 *
+	 * @return the row after every rule has been applied to each word
+	 */
+	public String apply(String line) {
+		StringBuilder sb = new StringBuilder(line.length());
+		int start = 0;
+		while (true) {
+			int end = line.indexOf('\t', start);
+			String word = end < 0
+					? line.substring(start)
+					: line.substring(start, end);
+			sb.append(script.apply(word));
+			if (end < 0) {
+				return sb.toString();
+			}
+			sb.append('\t');
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * Applies the script to each line of the input until it is exhausted.
+	 * Lines which are already available are processed in batches of up to the
+	 * provided size; the output is flushed whenever the input has no further
+	 * lines ready, so that interactive input is answered immediately.
+	 *
+	 * @param reader    the input, one row per line
+	 * @param writer    the output, one row per line
+	 * @param batchSize the maximum number of lines to hold before writing
+	 *
+	 * @throws IOException if the input cannot be read or the output written
+	 */
+	public void filter(BufferedReader reader, Writer writer, int batchSize)
+			throws IOException {
+		List<String> batch = new ArrayList<>(batchSize);
+		for (String line = reader.readLine(); line != null;
+		     line = reader.readLine()) {
+			batch.add(line);
+			boolean ready = reader.ready();
+			if (batch.size() >= batchSize || !ready) {
+				for (String row : batch) {
+					writer.write(apply(row));
+					writer.write('\n');
+				}
+				batch.clear();
+				if (!ready) {
+					writer.flush();
+				}
+			}
+		}
+		writer.flush();
+	}
+}
@@ -0,0 +1,226 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.nio.charset.Charset;
+
+/**
+ * Class {@code ScriptOptions}
+ *
+ * Settings which control how a script is compiled and run, but which do not
+ * change its output. The defaults reproduce the behavior of earlier versions.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@ToString
+@EqualsAndHashCode
+public class ScriptOptions implements Serializable {
+
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+	public static final long DEFAULT_MAPPING_THRESHOLD = Long.MAX_VALUE;
+
+	private boolean streaming;
+	private int chunkSize;
+	private long mappingThreshold;
+	private int parallelism;
+	private int segmentationCacheSize;
+	private boolean offHeap;
+	private boolean deduplicating;
+	private boolean collectingMetrics;
+	private int expansionLimit;
+	private String encoding;
+
+	public ScriptOptions() {
+		streaming = false;
+		chunkSize = DEFAULT_CHUNK_SIZE;
+		mappingThreshold = DEFAULT_MAPPING_THRESHOLD;
+		parallelism = 1;
+		segmentationCacheSize = 0;
+		offHeap = false;
+		deduplicating = false;
+		collectingMetrics = false;
+		expansionLimit = VariableStore.DEFAULT_EXPANSION_LIMIT;
+		encoding = "UTF-8";
+	}
+
+	public ScriptOptions(ScriptOptions options) {
+		streaming = options.streaming;
+		chunkSize = options.chunkSize;
+		mappingThreshold = options.mappingThreshold;
+		parallelism = options.parallelism;
+		segmentationCacheSize = options.segmentationCacheSize;
+		offHeap = options.offHeap;
+		deduplicating = options.deduplicating;
+		collectingMetrics = options.collectingMetrics;
+		expansionLimit = options.expansionLimit;
+		encoding = options.encoding;
+	}
+
+	/**
+	 * @return true if scripts of the form {@code OPEN}, rules, {@code CLOSE}
+	 * 		should pass their lexicon through the rules in chunks, rather than
+	 * 		loading it completely
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * @return the number of rows held in memory at once when streaming
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException(
+					"Chunk size must be positive: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @return the size in bytes at or above which lexicons on disk are mapped
+	 * 		into memory and decoded one row at a time as they are used; by
+	 * 		default, lexicons are never mapped
+	 */
+	public long getMappingThreshold() {
+		return mappingThreshold;
+	}
+
+	public void setMappingThreshold(long mappingThreshold) {
+		if (mappingThreshold < 0) {
+			throw new IllegalArgumentException(
+					"Mapping threshold must not be negative: " + mappingThreshold);
+		}
+		this.mappingThreshold = mappingThreshold;
+	}
+
+	/**
+	 * @return the number of threads used to segment lexicons as they are
+	 * 		opened, in chunks of {@link #getChunkSize()} rows; by default,
+	 * 		lexicons are segmented on the calling thread
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(
+					"Parallelism must be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the maximum number of distinct strings whose segmentation is
+	 * 		cached while opening a lexicon; zero, the default, disables the
+	 * 		cache
+	 */
+	public int getSegmentationCacheSize() {
+		return segmentationCacheSize;
+	}
+
+	public void setSegmentationCacheSize(int segmentationCacheSize) {
+		if (segmentationCacheSize < 0) {
+			throw new IllegalArgumentException(
+					"Cache size must not be negative: " + segmentationCacheSize);
+		}
+		this.segmentationCacheSize = segmentationCacheSize;
+	}
+
+	/**
+	 * @return true if lexicons should be stored outside the Java heap, as
+	 * 		arrays of segment IDs, with each word decoded as rules use it
+	 */
+	public boolean isOffHeap() {
+		return offHeap;
+	}
+
+	public void setOffHeap(boolean offHeap) {
+		this.offHeap = offHeap;
+	}
+
+	/**
+	 * @return true if rules should be applied only once to each distinct form
+	 * 		in a lexicon, with the results copied back to every row containing
+	 * 		the form when the lexicon is written
+	 */
+	public boolean isDeduplicating() {
+		return deduplicating;
+	}
+
+	public void setDeduplicating(boolean deduplicating) {
+		this.deduplicating = deduplicating;
+	}
+
+	/**
+	 * @return true if rules should count the work they do, and a report of
+	 * 		the counts should be written when a script finishes (see {@link
+	 * 		org.didelphis.soundchange.command.rule.RuleMetrics})
+	 */
+	public boolean isCollectingMetrics() {
+		return collectingMetrics;
+	}
+
+	public void setCollectingMetrics(boolean collectingMetrics) {
+		this.collectingMetrics = collectingMetrics;
+	}
+
+	/**
+	 * @return the maximum number of values a variable definition may expand
+	 * 		to before the script fails to compile (see {@link
+	 * 		VariableStore#setExpansionLimit(int)})
+	 */
+	public int getExpansionLimit() {
+		return expansionLimit;
+	}
+
+	public void setExpansionLimit(int expansionLimit) {
+		if (expansionLimit < 1) {
+			throw new IllegalArgumentException(
+					"Expansion limit must be positive: " + expansionLimit);
+		}
+		this.expansionLimit = expansionLimit;
+	}
+
+	/**
+	 * @return the charset in which scripts, models and lexicons are read and
+	 * 		written by the handlers created for them, UTF-8 by default
+	 */
+	public Charset getCharset() {
+		return Charset.forName(encoding);
+	}
+
+	/**
+	 * @param charset the charset in which files are read and written
+	 */
+	public void setCharset(Charset charset) {
+		// Stored by name, because Charset is not serializable
+		encoding = charset.name();
+	}
+}
@@ -0,0 +1,231 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Class {@code ScriptPipeline}
+ *
+ * Passes a stream of words through a {@link CompiledScript} on a pool of
+ * threads, delivering the results to a downstream consumer without holding
+ * the whole stream in memory. Words are grouped into batches; at most a fixed
+ * number of words may be in flight at once, and {@link #submit(String)}
+ * blocks until there is room, so that a fast producer is held back by a slow
+ * script or consumer.
+ *
+ * The consumer is never called concurrently. If ordering is requested, words
+ * are delivered in the order they were submitted; otherwise each batch is
+ * delivered as soon as it is complete.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class ScriptPipeline implements AutoCloseable {
+
+	private final CompiledScript<?> script;
+	private final Consumer<? super String> downstream;
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final int capacity;
+	private final int batchSize;
+	private final boolean ordered;
+
+	// Guarded by this
+	private List<String> batch;
+	private long submitted;
+
+	// Guarded by completed
+	private final Map<Long, Batch> completed;
+	private long delivered;
+	private volatile Throwable failure;
+
+	/**
+	 * @param script      the script to apply to each word
+	 * @param downstream  receives each changed word
+	 * @param parallelism the number of threads applying the script
+	 * @param batchSize   the number of words passed to a thread at once
+	 * @param capacity    the maximum number of words submitted but not yet
+	 *                    delivered; at least the batch size
+	 * @param ordered     whether words are delivered in the order they were
+	 *                    submitted
+	 */
+	public ScriptPipeline(CompiledScript<?> script,
+			Consumer<? super String> downstream, int parallelism,
+			int batchSize, int capacity, boolean ordered) {
+		if (parallelism < 1 || batchSize < 1 || capacity < batchSize) {
+			throw new IllegalArgumentException("Invalid pipeline size: " +
+					"parallelism " + parallelism + ", batch size " + batchSize +
+					", capacity " + capacity);
+		}
+		this.script = script;
+		this.downstream = downstream;
+		this.batchSize = batchSize;
+		this.capacity = capacity;
+		this.ordered = ordered;
+		executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "script-pipeline");
+			thread.setDaemon(true);
+			return thread;
+		});
+		permits = new Semaphore(capacity);
+		completed = new TreeMap<>();
+		batch = new ArrayList<>(batchSize);
+	}
+
+	/**
+	 * Adds a word to the pipeline, waiting while the pipeline is full
+	 *
+	 * @param word the word to change
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws RuntimeException     if an earlier word could not be processed
+	 *                              or delivered; an {@link Error} raised
+	 *                              while doing so is rethrown as it is
+	 */
+	public void submit(String word) throws InterruptedException {
+		checkFailure();
+		// Before taking the lock, so that a producer waiting for room does not
+		// hold up flush() or other producers
+		permits.acquire();
+		synchronized (this) {
+			batch.add(word);
+			if (batch.size() == batchSize) {
+				dispatch();
+			}
+		}
+	}
+
+	/**
+	 * Starts processing any words waiting for a batch to fill, so that they
+	 * are delivered without waiting for further input
+	 */
+	public synchronized void flush() {
+		if (!batch.isEmpty()) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * Processes any remaining words and waits for them to be delivered
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws RuntimeException     if any word could not be processed or
+	 *                              delivered; an {@link Error} raised while
+	 *                              doing so is rethrown as it is
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		flush();
+		try {
+			// Every permit is returned once all words have been delivered
+			permits.acquire(capacity);
+			permits.release(capacity);
+		} finally {
+			executor.shutdownNow();
+		}
+		checkFailure();
+	}
+
+	private void dispatch() {
+		List<String> words = batch;
+		long sequence = submitted++;
+		batch = new ArrayList<>(batchSize);
+		executor.execute(() -> {
+			List<String> output = new ArrayList<>(words.size());
+			try {
+				if (failure == null) {
+					for (String word : words) {
+						output.add(script.apply(word));
+					}
+				}
+			} catch (Throwable e) {
+				// Errors too: every batch must be delivered, or its permits
+				// are never returned and close() waits forever
+				fail(e);
+			}
+			deliver(sequence, output, words.size());
+		});
+	}
+
+	private void deliver(long sequence, List<String> output, int size) {
+		Batch result = new Batch(output, size);
+		synchronized (completed) {
+			if (!ordered) {
+				send(result);
+				return;
+			}
+			// Words held back for ordering still count against the capacity
+			completed.put(sequence, result);
+			for (Batch next = completed.remove(delivered); next != null;
+			     next = completed.remove(delivered)) {
+				send(next);
+				delivered++;
+			}
+		}
+	}
+
+	private void send(Batch result) {
+		try {
+			if (failure == null) {
+				result.output.forEach(downstream);
+			}
+		} catch (Throwable e) {
+			fail(e);
+		} finally {
+			permits.release(result.size);
+		}
+	}
+
+	private void fail(Throwable e) {
+		synchronized (completed) {
+			if (failure == null) {
+				failure = e;
+			}
+		}
+	}
+
+	private void checkFailure() {
+		Throwable e = failure;
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e != null) {
+			// A checked exception, thrown by a consumer which declares none
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class Batch {
+		private final List<String> output;
+		private final int size;
+
+		private Batch(List<String> output, int size) {
+			this.output = output;
+			this.size = size;
+		}
+	}
+}
@@ -0,0 +1,348 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.soundchange.parser.ScriptParser;
+import org.didelphis.utilities.Logger;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class {@code ScriptRegistry}
+ *
+ * A cache of {@link CompiledScript}s for processes which use many scripts,
+ * such as a server applying a different cascade for each language. Each entry
+ * records the SHA-256 digest of the script and of every file it was compiled
+ * from (see {@link ScriptParser#getDependencies()}), and is only reused while
+ * all of them are unchanged. For files on disk, the size and modification
+ * time of each file (see {@link FileStamp}) are compared first, and a file is
+ * only read and digested again if they have changed.
+ *
+ * Entries are evicted in least-recently-used order once there are more than
+ * the maximum number of entries, or once their total weight exceeds the
+ * maximum. The weight of an entry is the number of characters in the script
+ * and its dependencies: not the memory the compiled script occupies, but a
+ * measure which grows with it, since rules, variables and feature models are
+ * built from that source. A script requested by several threads at once is
+ * only compiled once, with the other threads waiting for the result.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class ScriptRegistry<T> {
+
+	private static final Logger LOG = Logger.create(ScriptRegistry.class);
+
+	private final FeatureType<T> type;
+	private final FileHandler handler;
+	private final int maxEntries;
+	private final long maxWeight;
+
+	// Guarded by this; in access order
+	private final Map<String, Entry<T>> entries;
+	private long weight;
+
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final AtomicLong evictions;
+
+	/**
+	 * @param type       the feature type used to compile scripts
+	 * @param handler    the file handler used to read scripts and their
+	 *                   dependencies
+	 * @param maxEntries the maximum number of scripts to keep
+	 * @param maxWeight  the maximum total weight of the scripts to keep, in
+	 *                   characters of source
+	 */
+	public ScriptRegistry(FeatureType<T> type, FileHandler handler,
+			int maxEntries, long maxWeight) {
+		if (maxEntries < 1 || maxWeight < 1) {
+			throw new IllegalArgumentException("Invalid registry size: " +
+					maxEntries + " entries, weight " + maxWeight);
+		}
+		this.type = type;
+		this.handler = handler;
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+		entries = new LinkedHashMap<>(16, 0.75f, true);
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+		evictions = new AtomicLong();
+	}
+
+	/**
+	 * Returns the compiled script at the provided path, compiling it only if
+	 * it is not registered or it, or any of its dependencies, has changed
+	 *
+	 * @param path the path of the script
+	 *
+	 * @return the compiled script
+	 *
+	 * @throws IOException if the script cannot be read
+	 * @throws RuntimeException if the script cannot be compiled
+	 */
+	public CompiledScript<T> get(String path) throws IOException {
+		Entry<T> entry;
+		synchronized (this) {
+			entry = entries.get(path);
+		}
+		if (entry != null && isStamped(entry)) {
+			hits.incrementAndGet();
+			return join(entry);
+		}
+
+		// Taken first, so that a change made while reading is seen later
+		FileStamp stamp = FileStamp.of(handler, path);
+		String source = handler.read(path);
+		if (source == null) {
+			throw new IOException("Script " + path + " could not be read");
+		}
+		String digest = ScriptCache.digest(source);
+
+		if (entry != null && isCurrent(entry, digest)) {
+			entry.stamp = stamp;
+			hits.incrementAndGet();
+			return join(entry);
+		}
+
+		boolean compile = false;
+		synchronized (this) {
+			Entry<T> current = entries.get(path);
+			// Another thread may have started compiling the same source
+			if (current != null && current != entry &&
+					current.digest.equals(digest)) {
+				entry = current;
+			} else {
+				if (current != null) {
+					weight -= current.weight;
+				}
+				entry = new Entry<>(path, digest, stamp);
+				entries.put(path, entry);
+				compile = true;
+			}
+		}
+
+		if (!compile) {
+			hits.incrementAndGet();
+			return join(entry);
+		}
+		misses.incrementAndGet();
+		compile(entry, source);
+		return join(entry);
+	}
+
+	/**
+	 * Removes the script at the provided path, if it is registered
+	 *
+	 * @param path the path of the script
+	 */
+	public synchronized void invalidate(String path) {
+		Entry<T> entry = entries.remove(path);
+		if (entry != null) {
+			weight -= entry.weight;
+		}
+	}
+
+	/**
+	 * Removes all registered scripts; statistics are unchanged
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ScriptRegistry{hits=" + getHits() + ", misses=" + getMisses() +
+				", evictions=" + getEvictions() + ", size=" + size() +
+				", weight=" + getWeight() + '}';
+	}
+
+	private void compile(Entry<T> entry, String source) {
+		String path = entry.path;
+		try {
+			ScriptParser<T> parser = new ScriptParser<>(path, type, source,
+					handler, new ErrorLogger());
+			parser.parse();
+			long entryWeight = source.length();
+			for (String dependency : parser.getDependencies()) {
+				FileStamp stamp = FileStamp.of(handler, dependency);
+				if (stamp != null) {
+					entry.stamps.put(dependency, stamp);
+				}
+				String data = handler.read(dependency);
+				entry.dependencies.put(dependency, ScriptCache.digest(data));
+				entryWeight += data == null ? 0 : data.length();
+			}
+			CompiledScript<T> script = new CompiledScript<>(parser);
+			synchronized (this) {
+				entry.weight = entryWeight;
+				if (entries.get(path) == entry) {
+					weight += entryWeight;
+					evict(entry);
+				}
+			}
+			entry.future.complete(script);
+		} catch (Throwable e) {
+			// Including errors, which would otherwise leave the future
+			// incomplete and every thread waiting on it blocked; each of
+			// them rethrows it from join
+			synchronized (this) {
+				if (entries.get(path) == entry) {
+					entries.remove(path);
+				}
+			}
+			entry.future.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries, other than the one provided,
+	 * until the registry is within its limits
+	 */
+	private void evict(Entry<T> keep) {
+		Iterator<Entry<T>> iterator = entries.values().iterator();
+		while ((entries.size() > maxEntries || weight > maxWeight) &&
+				iterator.hasNext()) {
+			Entry<T> entry = iterator.next();
+			if (entry != keep) {
+				iterator.remove();
+				weight -= entry.weight;
+				evictions.incrementAndGet();
+				LOG.info("Evicted compiled script {}", entry.path);
+			}
+		}
+	}
+
+	/**
+	 * @return true if the script, and every dependency once it is compiled,
+	 * 		still has the stamp recorded when it was last read; false if any
+	 * 		has changed or has no stamp, and must be digested instead
+	 */
+	private boolean isStamped(Entry<T> entry) {
+		FileStamp stamp = entry.stamp;
+		if (stamp == null || !stamp.matches(handler, entry.path)) {
+			return false;
+		}
+		if (!entry.future.isDone()) {
+			return true;
+		}
+		for (String dependency : entry.dependencies.keySet()) {
+			FileStamp recorded = entry.stamps.get(dependency);
+			if (recorded == null || !recorded.matches(handler, dependency)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isCurrent(Entry<T> entry, String digest) {
+		if (!entry.digest.equals(digest)) {
+			return false;
+		}
+		if (!entry.future.isDone()) {
+			// Dependencies are recorded, and checked, once it is compiled
+			return true;
+		}
+		try {
+			for (Map.Entry<String, String> e : entry.dependencies.entrySet()) {
+				String dependency = e.getKey();
+				FileStamp stamp = FileStamp.of(handler, dependency);
+				String data = handler.read(dependency);
+				if (!ScriptCache.digest(data).equals(e.getValue())) {
+					return false;
+				}
+				// Only its stamp has changed, so record the new one
+				if (stamp != null) {
+					entry.stamps.put(dependency, stamp);
+				}
+			}
+		} catch (IOException e) {
+			return false;
+		}
+		return true;
+	}
+
+	private static <T> CompiledScript<T> join(Entry<T> entry)
+			throws IOException {
+		try {
+			return entry.future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private static final class Entry<T> {
+		private final String path;
+		private final String digest;
+		// Written before the future is completed
+		private final Map<String, String> dependencies;
+		// Updated whenever a file is found unchanged by its digest
+		private final Map<String, FileStamp> stamps;
+		private final CompletableFuture<CompiledScript<T>> future;
+		private volatile FileStamp stamp;
+		// Guarded by the registry
+		private long weight;
+
+		private Entry(String path, String digest, FileStamp stamp) {
+			this.path = path;
+			this.digest = digest;
+			this.stamp = stamp;
+			dependencies = new LinkedHashMap<>();
+			stamps = new ConcurrentHashMap<>();
+			future = new CompletableFuture<>();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.language.phonetic.features.FeatureArray;
+import org.didelphis.language.phonetic.features.SparseFeatureArray;
+import org.didelphis.language.phonetic.features.StandardFeatureArray;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.segments.StandardSegment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Class {@code SegmentPool}
+ *
+ * Interns segments, so that every word which uses the pool shares one instance
+ * of each distinct segment, identified by its symbol and features. A lexicon
+ * of millions of words typically contains only a few hundred distinct
+ * segments. Each script has its own pool (see {@link LexiconMap#getPool()}),
+ * so that its segments are released along with the script.
+ *
+ * Interned segments are shared, and so must never be modified; code which
+ * needs to change a segment's features, such as rule replacement, must first
+ * take a deep copy with {@link #copy(Segment)}. The pool itself stores a copy
+ * of each segment it interns, so that a caller which later modifies its own
+ * segment cannot change a pooled one or the key under which it is stored.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class SegmentPool<T> {
+
+	private final ConcurrentMap<Key<T>, Segment<T>> segments;
+
+	public SegmentPool() {
+		segments = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns a copy of the provided segment which shares no mutable state
+	 * with it, so that it can be altered without affecting the original.
+	 *
+	 * @param segment a segment, possibly pooled
+	 * @param <T>     the feature type
+	 *
+	 * @return a new segment with the same symbol and a copy of its features
+	 */
+	public static <T> Segment<T> copy(Segment<T> segment) {
+		FeatureArray<T> features = segment.getFeatures();
+		FeatureArray<T> copy = features instanceof SparseFeatureArray
+				? new SparseFeatureArray<>(features)
+				: new StandardFeatureArray<>(features);
+		return new StandardSegment<>(segment.getSymbol(), copy);
+	}
+
+	/**
+	 * @param segment a segment
+	 *
+	 * @return the pooled segment equal to the provided one; if no equal
+	 * 		segment has been pooled before, a copy of the provided one is
+	 * 		pooled and returned
+	 */
+	public Segment<T> intern(Segment<T> segment) {
+		Segment<T> pooled = segments.get(
+				new Key<>(segment.getSymbol(), segment.getFeatures()));
+		if (pooled != null) {
+			return pooled;
+		}
+		Segment<T> copy = copy(segment);
+		pooled = segments.putIfAbsent(
+				new Key<>(copy.getSymbol(), copy.getFeatures()), copy);
+		return pooled == null ? copy : pooled;
+	}
+
+	/**
+	 * @param sequence a sequence
+	 *
+	 * @return a new sequence containing the pooled instance of each segment of
+	 * 		the provided sequence
+	 */
+	public Sequence<T> intern(Sequence<T> sequence) {
+		Sequence<T> interned = new BasicSequence<>(sequence.getFeatureModel());
+		for (Segment<T> segment : sequence) {
+			interned.add(intern(segment));
+		}
+		return interned;
+	}
+
+	/**
+	 * @return the number of distinct segments in the pool
+	 */
+	public int size() {
+		return segments.size();
+	}
+
+	private static final class Key<T> {
+
+		private final String symbol;
+		private final FeatureArray<T> features;
+		private final int hash;
+
+		private Key(String symbol, FeatureArray<T> features) {
+			this.symbol = symbol;
+			this.features = features;
+			hash = Objects.hash(symbol, features);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key<?> key = (Key<?>) o;
+			return hash == key.hash
+					&& Objects.equals(symbol, key.symbol)
+					&& Objects.equals(features, key.features);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -16,8 +16,13 @@ package org.didelphis.soundchange;
 
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.soundchange.command.rule.RuleMetrics;
 import org.didelphis.soundchange.parser.ScriptParser;
+import org.didelphis.utilities.Logger;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Queue;
 
 /**
@@ -26,27 +31,57 @@ import java.util.Queue;
  */
 public class StandardScript<T> implements SoundChangeScript<T> {
 
+	private static final Logger LOG = Logger.create(StandardScript.class);
+
 	private final FileHandler handler;
 	private final String filePath;
 	private final Queue<Runnable> commands;
 	private final LexiconMap<T> lexicons;
+	private final ScriptOptions options;
+	private final Collection<String> paths;
+	private final Collection<String> outputs;
+
+	private volatile boolean streamed;
 
 	public StandardScript(String filePath, FeatureType<T> type,
 			String script, FileHandler handler, ErrorLogger logger) {
+		this(filePath, type, script, handler, logger, new ScriptOptions());
+	}
+
+	public StandardScript(String filePath, FeatureType<T> type,
+			String script, FileHandler handler, ErrorLogger logger,
+			ScriptOptions options) {
 		this.filePath = filePath;
 		this.handler = handler;
+		this.options = options;
 
 		ScriptParser<T> scriptParser = new ScriptParser<>(
 				filePath,
 				type,
 				script,
 				handler,
-				logger
+				logger,
+				options
 		);
 		scriptParser.parse();
 
 		lexicons = scriptParser.getMemory().getLexicons();
 		commands = scriptParser.getCommands();
+		paths = scriptParser.getPaths();
+		outputs = scriptParser.getOutputs();
+	}
+
+	StandardScript(String filePath, FileHandler handler,
+			LexiconMap<T> lexicons, Queue<Runnable> commands,
+			ScriptOptions options, Collection<String> paths,
+			Collection<String> outputs) {
+		this.filePath = filePath;
+		this.handler = handler;
+		this.lexicons = lexicons;
+		this.commands = commands;
+		this.options = options;
+		this.paths = paths;
+		this.outputs = outputs;
 	}
 
 	@Override
@@ -64,10 +99,95 @@ public class StandardScript<T> implements SoundChangeScript<T> {
 		return lexicons;
 	}
 
+	public ScriptOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return the path of the script
+	 */
+	public String getFilePath() {
+		return filePath;
+	}
+
+	/**
+	 * @return the paths of every file the script reads or writes (see {@link
+	 * 		ScriptParser#getPaths()})
+	 */
+	public Collection<String> getPaths() {
+		return paths;
+	}
+
+	/**
+	 * @return the paths of every lexicon the script writes (see {@link
+	 * 		ScriptParser#getOutputs()})
+	 */
+	public Collection<String> getOutputs() {
+		return outputs;
+	}
+
+	/**
+	 * @return true if the last call to {@link #process()} passed the lexicon
+	 * 		through the rules in chunks, rather than processing it in memory
+	 */
+	public boolean isStreamed() {
+		return streamed;
+	}
+
+	/**
+	 * Runs each command in order. If streaming is enabled in the options and
+	 * the script has the form {@code OPEN}, rules, {@code CLOSE}, the lexicon
+	 * is passed through the rules in chunks instead (see {@link
+	 * LexiconStream}); otherwise it is processed in memory. Returns once any
+	 * lexicons written in the background have been written.
+	 *
+	 * If metrics are collected (see {@link
+	 * ScriptOptions#isCollectingMetrics()}), the metrics of each rule are
+	 * registered over JMX while the script runs, and written as JSON to the
+	 * path of the script with the suffix {@code .metrics.json} once it ends,
+	 * after which they are unregistered.
+	 * Counts accumulate over every run of the same compiled script.
+	 */
 	@Override
 	public void process() {
-		for (Runnable command : commands) {
-			command.run();
+		if (!options.isCollectingMetrics()) {
+			runCommands();
+			return;
+		}
+		List<RuleMetrics> metrics = RuleMetrics.collect(commands);
+		RuleMetrics.register(filePath, metrics);
+		try {
+			runCommands();
+			String path = filePath + ".metrics.json";
+			try {
+				handler.writeString(path, RuleMetrics.toJson(filePath, metrics));
+			} catch (IOException e) {
+				LOG.warn("Failed to write metrics to {}", path, e);
+			}
+		} finally {
+			RuleMetrics.unregister(filePath);
+		}
+	}
+
+	private void runCommands() {
+		streamed = false;
+		if (options.isStreaming()) {
+			LexiconStream<T> stream = LexiconStream.of(commands, lexicons);
+			if (stream != null) {
+				streamed = true;
+				stream.run(options.getChunkSize());
+				return;
+			}
+			LOG.info("Script {} cannot be streamed; processing in memory",
+					filePath);
+		}
+		try {
+			for (Runnable command : commands) {
+				command.run();
+			}
+		} finally {
+			lexicons.getWrites().await();
+			lexicons.getSegmenters().shutdown();
 		}
 	}
 
@@ -31,7 +31,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Class {@code VariableStore}
@@ -46,17 +45,32 @@ public class VariableStore {
 	static final Regex EQUALS_PATTERN    = new Regex("\\s*=\\s*");
 	static final Regex DELIMITER_PATTERN = new Regex("\\s+");
 
+	/**
+	 * The default maximum number of values a variable definition may expand to
+	 */
+	public static final int DEFAULT_EXPANSION_LIMIT = 100000;
+
 	final Map<String, List<String>> variables;
+	final Map<String, List<String>> expansions;
+	final Node keys;
 	Segmenter segmenter;
+	int expansionLimit;
 
 	public VariableStore(Segmenter segmenter) {
 		this.segmenter = segmenter;
 		variables = new LinkedHashMap<>();
+		expansions = new HashMap<>();
+		keys = new Node();
+		expansionLimit = DEFAULT_EXPANSION_LIMIT;
 	}
 
 	public VariableStore(VariableStore otherStore) {
 		segmenter = otherStore.segmenter;
 		variables = new HashMap<>(otherStore.variables);
+		expansions = new HashMap<>();
+		keys = new Node();
+		variables.keySet().forEach(keys::insert);
+		expansionLimit = otherStore.expansionLimit;
 	}
 
 	public VariableStore() {
@@ -71,6 +85,25 @@ public class VariableStore {
 		this.segmenter = segmenter;
 	}
 
+	public int getExpansionLimit() {
+		return expansionLimit;
+	}
+
+	/**
+	 * Sets the maximum number of values a variable definition may expand to;
+	 * definitions which exceed this fail with a {@link ParseException} rather
+	 * than exhausting the heap.
+	 *
+	 * @param expansionLimit the maximum number of values; must be positive
+	 */
+	public void setExpansionLimit(int expansionLimit) {
+		if (expansionLimit <= 0) {
+			throw new IllegalArgumentException(
+					"Expansion limit must be positive: " + expansionLimit);
+		}
+		this.expansionLimit = expansionLimit;
+	}
+
 	public boolean isEmpty() {
 		return variables.isEmpty();
 	}
@@ -104,8 +137,11 @@ public class VariableStore {
 			List<String> expanded = new ArrayList<>();
 			for (String value : elements) {
 				expanded.addAll(expandVariables(value));
+				if (expanded.size() > expansionLimit) {
+					throw limitExceeded(key, command);
+				}
 			}
-			variables.put(key, expanded);
+			put(key, expanded);
 		} else {
 			String message = Templates.create()
 					.add("Variable definition can only contain one = sign.")
@@ -116,7 +152,7 @@ public class VariableStore {
 	}
 
 	public void addAll(VariableStore variableStore) {
-		variables.putAll(variableStore.variables);
+		variableStore.variables.forEach(this::put);
 	}
 
 	public Set<String> getKeys() {
@@ -127,55 +163,140 @@ public class VariableStore {
 		return variables.get(key);
 	}
 
+	private void put(String key, List<String> values) {
+		variables.put(key, values);
+		keys.insert(key);
+		// Redefinition may change the expansion of any variable
+		expansions.clear();
+	}
+
+	/**
+	 * Expands every variable in the provided element, producing the Cartesian
+	 * product of their values in order, so that the first variable in the
+	 * element varies slowest.
+	 */
 	private Collection<String> expandVariables(String element) {
-		List<List<String>> list = new ArrayList<>();
-		List<List<String>> swap = new ArrayList<>();
+		if (segmenter == FormatterMode.NONE && !containsKey(element)) {
+			return Collections.singletonList(element);
+		}
 
 		// TODO: unclear if this should be an empty map ************************
-		list.add(segmenter.split(element, getKeys(), Collections.emptyMap()));
-
-		boolean modified = true;
-		while (modified) {
-			modified = false;
-			for (List<String> strings : list) {
-				for (int i = 0; i < strings.size(); i++) {
-					String string = strings.get(i);
-
-					if (contains(string)) {
-						modified = true;
-						for (String s : get(string)) {
-							List<String> newList = new ArrayList<>(strings);
-							newList.set(i, s);
-							swap.add(newList);
-						}
-						break;
-					}
+		Map<String, String> emptyMap = Collections.emptyMap();
+		List<String> tokens = segmenter.split(element, getKeys(), emptyMap);
+
+		List<String> list = Collections.singletonList("");
+		for (String token : tokens) {
+			List<String> values = resolve(token, new HashSet<>(),
+					new boolean[1]);
+			long size = (long) list.size() * values.size();
+			if (size > expansionLimit) {
+				throw limitExceeded(element, element);
+			}
+			List<String> swap = new ArrayList<>((int) size);
+			for (String prefix : list) {
+				for (String value : values) {
+					swap.add(prefix + value);
 				}
 			}
-			if (!swap.isEmpty()) {
-				list = swap;
-				swap = new ArrayList<>();
+			list = swap;
+		}
+		return list;
+	}
+
+	/**
+	 * Returns the values of a token: the token itself if it is not a
+	 * variable, otherwise the values of the variable, any of which may in
+	 * turn be variables. Expansions are memoized until the next definition,
+	 * unless they were cut short by a cycle: which variable closes the cycle
+	 * depends on where the expansion started, so the result would be wrong
+	 * when reused from elsewhere.
+	 *
+	 * @param token   a single token of a variable definition
+	 * @param visited variables already being expanded, to prevent cycles
+	 * @param cut     set to true if the expansion was cut short by a cycle
+	 */
+	private List<String> resolve(String token, Set<String> visited,
+			boolean[] cut) {
+		if (!contains(token)) {
+			return Collections.singletonList(token);
+		}
+		List<String> memo = expansions.get(token);
+		if (memo != null) {
+			return memo;
+		}
+		if (!visited.add(token)) {
+			cut[0] = true;
+			return Collections.singletonList(token);
+		}
+		boolean[] inner = new boolean[1];
+		List<String> values = new ArrayList<>();
+		for (String value : get(token)) {
+			values.addAll(resolve(value, visited, inner));
+			if (values.size() > expansionLimit) {
+				throw limitExceeded(token, token);
+			}
+		}
+		visited.remove(token);
+		if (inner[0]) {
+			cut[0] = true;
+		} else {
+			expansions.put(token, values);
+		}
+		return values;
+	}
+
+	private ParseException limitExceeded(String element, String data) {
+		String message = Templates.create()
+				.add("Expansion of {} exceeds the limit of {} values.")
+				.with(element, expansionLimit)
+				.data(data)
+				.build();
+		return new ParseException(message);
+	}
+
+	/**
+	 * @return true if any variable name occurs anywhere in the provided text
+	 */
+	private boolean containsKey(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (!getBestMatch(text, i).isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the longest variable name which occurs in the text at the
+	 * 		provided index, or an empty string if there is none
+	 */
+	private String getBestMatch(String text, int start) {
+		Node node = keys;
+		int end = start;
+		for (int i = start; i < text.length() && node != null; i++) {
+			node = node.children.get(text.charAt(i));
+			if (node != null && node.terminal) {
+				end = i + 1;
 			}
 		}
+		return text.substring(start, end);
+	}
+
+	/**
+	 * A node in a trie of variable names
+	 */
+	private static final class Node {
+
+		private final Map<Character, Node> children = new HashMap<>();
+		private boolean terminal;
 
-		return list.stream()
-				.map(strings -> {
-					StringBuilder sb = new StringBuilder();
-					for (String string: strings) {
-						sb.append(string);
-					}
-					return sb.toString();
-				})
-				.collect(Collectors.toList());
-	}
-
-	private String getBestMatch(String tail) {
-		String bestMatch = "";
-		for (String key : getKeys()) {
-			if (tail.startsWith(key) && bestMatch.length() < key.length()) {
-				bestMatch = key;
+		private void insert(String key) {
+			Node node = this;
+			for (int i = 0; i < key.length(); i++) {
+				node = node.children.computeIfAbsent(key.charAt(i),
+						c -> new Node());
 			}
+			node.terminal = true;
 		}
-		return bestMatch;
 	}
 }
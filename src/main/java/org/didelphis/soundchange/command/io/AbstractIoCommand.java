@@ -9,6 +9,7 @@ package org.didelphis.soundchange.command.io;
 import lombok.EqualsAndHashCode;
 import org.didelphis.io.FileHandler;
 
+
 /**
  * @author Samantha Fiona McCabe
  * @date 2016-12-04
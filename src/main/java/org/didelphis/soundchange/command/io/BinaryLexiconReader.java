@@ -0,0 +1,139 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.SegmentPool;
+import org.didelphis.utilities.Logger;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class {@code BinaryLexiconReader}
+ *
+ * Reads lexicons written by {@link BinaryLexiconWriter}. Each distinct
+ * segment is resolved once, by segmenting its symbol with the provided
+ * factory; every word is then assembled from the resolved segments without
+ * further segmentation. If the features of a resolved segment do not match
+ * those which were written, the lexicon was written with another feature
+ * model, and the symbol's segmentation under the current model is used
+ * instead.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public class BinaryLexiconReader<T> implements Closeable {
+
+	private static final Logger LOG = Logger.create(BinaryLexiconReader.class);
+
+	private final DataInputStream in;
+	private final SequenceFactory<T> factory;
+	private final SegmentPool<T> pool;
+	private final FeatureModel<T> model;
+	private final List<Sequence<T>> symbols;
+	private final String path;
+
+	private boolean finished;
+	private boolean mismatched;
+
+	public BinaryLexiconReader(InputStream stream, SequenceFactory<T> factory,
+			String path, SegmentPool<T> pool) throws IOException {
+		in = new DataInputStream(stream);
+		this.factory = factory;
+		this.path = path;
+		this.pool = pool;
+		model = factory.getFeatureMapping().getFeatureModel();
+		symbols = new ArrayList<>();
+		if (in.readInt() != BinaryLexiconWriter.MAGIC) {
+			throw new IOException(path + " is not a binary lexicon");
+		}
+		int version = in.readInt();
+		if (version != BinaryLexiconWriter.VERSION) {
+			throw new IOException("Unsupported binary lexicon version "
+					+ version + " in " + path);
+		}
+	}
+
+	/**
+	 * @return the cells of the next row, or {@code null} if the end of the
+	 * 		lexicon has been reached
+	 *
+	 * @throws IOException if the underlying stream fails or the data is
+	 * 		malformed
+	 */
+	public List<Sequence<T>> readRow() throws IOException {
+		if (finished) {
+			return null;
+		}
+		int cells = readVarint() - 1;
+		if (cells < 0) {
+			finished = true;
+			return null;
+		}
+		List<Sequence<T>> row = new ArrayList<>(cells);
+		for (int i = 0; i < cells; i++) {
+			int length = readVarint();
+			Sequence<T> sequence = new BasicSequence<>(model);
+			for (int j = 0; j < length; j++) {
+				int id = readVarint();
+				if (id == 0) {
+					sequence.add(define());
+				} else if (id <= symbols.size()) {
+					sequence.add(symbols.get(id - 1));
+				} else {
+					throw new IOException("Undefined segment " + id + " in " + path);
+				}
+			}
+			row.add(sequence);
+		}
+		return row;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private Sequence<T> define() throws IOException {
+		String symbol = in.readUTF();
+		String features = in.readUTF();
+		Sequence<T> resolved = pool.intern(factory.toSequence(symbol));
+		if (resolved.size() != 1 ||
+				!symbol.equals(resolved.get(0).getSymbol()) ||
+				!features.equals(String.valueOf(resolved.get(0).getFeatures()))) {
+			if (!mismatched) {
+				mismatched = true;
+				LOG.warn("Lexicon {} was written with a different feature "
+						+ "model; segment {} has been segmented again", path,
+						symbol);
+			}
+		}
+		symbols.add(resolved);
+		return resolved;
+	}
+
+	private int readVarint() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed binary lexicon " + path);
+	}
+}
@@ -0,0 +1,98 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class {@code BinaryLexiconWriter}
+ *
+ * Writes a lexicon in a compact binary form which can be read back without
+ * segmenting each word again. The format consists of
+ * <ul>
+ *     <li>the magic number {@link #MAGIC} and the format {@link #VERSION}</li>
+ *     <li>each row, as the number of cells plus one, followed by each cell
+ *     as the number of segments and the ID of each segment</li>
+ *     <li>a zero marking the end of the lexicon</li>
+ * </ul>
+ * All counts and IDs are unsigned variable-length integers. The first time a
+ * segment is used, it is written as a zero followed by its symbol and the
+ * string form of its features, and is assigned the next ID; after that, its ID
+ * is written as its index plus one. The features serve as a fingerprint of the
+ * feature model, which allows a reader to detect that the lexicon was written
+ * with a different model.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public class BinaryLexiconWriter<T> implements Closeable {
+
+	public static final int MAGIC = 0x444C4558; // DLEX
+	public static final int VERSION = 1;
+
+	private final DataOutputStream out;
+	private final Map<String, Integer> symbols;
+
+	public BinaryLexiconWriter(OutputStream stream) throws IOException {
+		out = new DataOutputStream(stream);
+		symbols = new HashMap<>();
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+	}
+
+	/**
+	 * @param row the cells of the row
+	 *
+	 * @throws IOException if the underlying stream fails
+	 */
+	public void writeRow(List<? extends Sequence<T>> row) throws IOException {
+		writeVarint(row.size() + 1);
+		for (Sequence<T> sequence : row) {
+			writeVarint(sequence.size());
+			for (Segment<T> segment : sequence) {
+				String symbol = segment.getSymbol();
+				Integer id = symbols.get(symbol);
+				if (id == null) {
+					symbols.put(symbol, symbols.size());
+					writeVarint(0);
+					out.writeUTF(symbol);
+					out.writeUTF(String.valueOf(segment.getFeatures()));
+				} else {
+					writeVarint(id + 1);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writeVarint(0);
+		} finally {
+			out.close();
+		}
+	}
+
+	private void writeVarint(int value) throws IOException {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			out.writeByte((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.writeByte(remaining);
+	}
+}
@@ -0,0 +1,172 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.phonetic.sequences.Sequence;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Class {@code DedupIndex}
+ *
+ * Records the shape of a lexicon whose distinct forms are processed only once.
+ * The lexicon itself holds a single row of unique forms, which rules update as
+ * usual; this index maps every cell of the original lexicon to its form, and
+ * iterates over the original rows for {@code WRITE} and {@code CLOSE}.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class DedupIndex<T> implements Iterable<List<Sequence<T>>> {
+
+	private final List<Sequence<T>> forms;
+	private final int[] rowStarts;
+	private final int[] cells;
+	private final int rows;
+
+	private DedupIndex(List<Sequence<T>> forms, int[] rowStarts, int[] cells,
+			int rows) {
+		this.forms = forms;
+		this.rowStarts = rowStarts;
+		this.cells = cells;
+		this.rows = rows;
+	}
+
+	/**
+	 * @return the number of cells in the original lexicon
+	 */
+	public int getCellCount() {
+		return rowStarts[rows];
+	}
+
+	/**
+	 * @return the number of distinct forms
+	 */
+	public int getFormCount() {
+		return forms.size();
+	}
+
+	@Override
+	public Iterator<List<Sequence<T>>> iterator() {
+		return new Iterator<List<Sequence<T>>>() {
+			private int row;
+
+			@Override
+			public boolean hasNext() {
+				return row < rows;
+			}
+
+			@Override
+			public List<Sequence<T>> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Row view = new Row(rowStarts[row], rowStarts[row + 1]);
+				row++;
+				return view;
+			}
+		};
+	}
+
+	/**
+	 * A read-only view of one row of the original lexicon
+	 */
+	private final class Row extends AbstractList<Sequence<T>>
+			implements RandomAccess {
+
+		private final int start;
+		private final int end;
+
+		private Row(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Sequence<T> get(int index) {
+			if (index < 0 || index >= end - start) {
+				throw new IndexOutOfBoundsException(
+						"Index: " + index + ", Size: " + size());
+			}
+			return forms.get(cells[start + index]);
+		}
+
+		@Override
+		public int size() {
+			return end - start;
+		}
+	}
+
+	/**
+	 * Collects the rows of a lexicon as text, assigning an ID to each
+	 * distinct cell
+	 */
+	static final class Builder {
+
+		private final Map<String, Integer> ids;
+		private final List<String> strings;
+
+		private int[] rowStarts;
+		private int[] cells;
+		private int rows;
+		private int size;
+
+		Builder() {
+			ids = new HashMap<>();
+			strings = new ArrayList<>();
+			rowStarts = new int[1024];
+			cells = new int[1024];
+		}
+
+		void addRow(List<String> row) {
+			if (rows + 1 >= rowStarts.length) {
+				rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+			}
+			rowStarts[rows++] = size;
+			for (String cell : row) {
+				if (size == cells.length) {
+					cells = Arrays.copyOf(cells, size * 2);
+				}
+				Integer id = ids.get(cell);
+				if (id == null) {
+					id = strings.size();
+					ids.put(cell, id);
+					strings.add(cell);
+				}
+				cells[size++] = id;
+			}
+		}
+
+		/**
+		 * @return each distinct cell, in order of first appearance
+		 */
+		List<String> getStrings() {
+			return strings;
+		}
+
+		/**
+		 * @param forms the form of each distinct cell, in the order given by
+		 *              {@link #getStrings()}; rules may later replace them
+		 * @param <T>   the feature type
+		 *
+		 * @return an index over the provided forms
+		 */
+		<T> DedupIndex<T> build(List<Sequence<T>> forms) {
+			rowStarts[rows] = size;
+			return new DedupIndex<>(forms, rowStarts, cells, rows);
+		}
+	}
+}
@@ -11,6 +11,7 @@ import lombok.ToString;
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.parsing.FormatterMode;
 import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.event.ScriptEvent;
 import org.didelphis.utilities.Logger;
 
 /**
@@ -42,10 +43,18 @@ public class LexiconCloseCommand<T> extends AbstractLexiconIoCommand {
 		command = new LexiconWriteCommand<>(lexicons, path, handle, name, mode);
 	}
 
+	public FormatterMode getMode() {
+		return mode;
+	}
+
 	@Override
 	public void run() {
-		command.run();
+		ScriptEvent event = command.newEvent("CLOSE");
+		// Earlier writes may target the same path
+		lexicons.getWrites().await();
+		long rows = command.runNow();
 		// REMOVE data from lexicons
 		lexicons.remove(getHandle());
+		command.commit(event, rows);
 	}
 }
@@ -0,0 +1,308 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.UtilityClass;
+import org.didelphis.io.FileHandler;
+import org.didelphis.utilities.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Class {@code LexiconFiles}
+ *
+ * Opens lexicon files for streaming. Files behind a {@link
+ * StreamingFileHandler} are read and written through buffered channels which
+ * the handler opens, in the charset of the handler; for any other {@link
+ * FileHandler} the contents are read through the handler as usual, and
+ * written to it when the writer is closed.
+ *
+ * As when files were only read through the handler, a lexicon which cannot be
+ * read is logged as an error and read as the single word {@code null}.
+ *
+ * Paths ending in {@code .gz} are compressed with gzip. Compressed input is
+ * decompressed on a separate thread, ahead of the reader. Handlers other than
+ * {@link StreamingFileHandler} store compressed data as a string with one
+ * character per byte (ISO-8859-1), and the text within it as UTF-8.
+ *
+ * Paths ending in {@code .blex}, optionally followed by {@code .gz}, hold
+ * lexicons in a binary format which preserves the segmentation of each word;
+ * see {@link BinaryLexiconWriter}.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@UtilityClass
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LexiconFiles {
+
+	Logger LOG = Logger.create(LexiconFiles.class);
+
+	int BUFFER_SIZE = 1 << 16;
+
+	String MISSING = "null";
+
+	public String GZIP_EXTENSION = ".gz";
+	public String BINARY_EXTENSION = ".blex";
+
+	/**
+	 * Opens a reader over the lexicon at the provided path
+	 *
+	 * @param handler the handler through which the file is accessed
+	 * @param path    the path of the lexicon
+	 *
+	 * @return a new reader, which the caller must close; if the file cannot be
+	 * 		opened the failure is logged, and the reader holds the word {@code
+	 * 		null}
+	 */
+	public Reader newReader(FileHandler handler, String path) {
+		try {
+			return openReader(handler, path);
+		} catch (IOException e) {
+			LOG.error("Failed to read from path {}", path, e);
+			return new StringReader(MISSING);
+		}
+	}
+
+	/**
+	 * Opens a writer to the lexicon at the provided path, replacing any
+	 * existing contents
+	 *
+	 * @param handler the handler through which the file is accessed
+	 * @param path    the path of the lexicon
+	 *
+	 * @return a new writer, which the caller must close; for handlers other
+	 * 		than {@link StreamingFileHandler} nothing is written until it is
+	 * 		closed
+	 *
+	 * @throws IOException if the file cannot be opened
+	 */
+	public Writer newWriter(FileHandler handler, String path)
+			throws IOException {
+		if (isCompressed(path)) {
+			return new BufferedWriter(new OutputStreamWriter(
+					newOutputStream(handler, path), encoder(charset(handler))),
+					BUFFER_SIZE);
+		}
+		if (handler instanceof StreamingFileHandler) {
+			StreamingFileHandler streaming = (StreamingFileHandler) handler;
+			Writer writer = Channels.newWriter(streaming.openForWriting(path),
+					encoder(streaming.getCharset()), BUFFER_SIZE);
+			return new BufferedWriter(writer, BUFFER_SIZE);
+		}
+		return new HandlerWriter(handler, path);
+	}
+
+	/**
+	 * Opens a stream over the bytes of the lexicon at the provided path,
+	 * decompressing it if necessary
+	 *
+	 * @param handler the handler through which the file is accessed
+	 * @param path    the path of the lexicon
+	 *
+	 * @return a new buffered stream, which the caller must close
+	 *
+	 * @throws IOException if the file cannot be opened
+	 */
+	public InputStream newInputStream(FileHandler handler, String path)
+			throws IOException {
+		InputStream stream = handler instanceof StreamingFileHandler
+				? Channels.newInputStream(
+				((StreamingFileHandler) handler).openForReading(path))
+				: new ByteArrayInputStream(read(handler, path)
+				.getBytes(StandardCharsets.ISO_8859_1));
+		if (isCompressed(path)) {
+			return new PrefetchInputStream(
+					new GZIPInputStream(stream, BUFFER_SIZE), BUFFER_SIZE);
+		}
+		return new BufferedInputStream(stream, BUFFER_SIZE);
+	}
+
+	/**
+	 * Opens a stream to the lexicon at the provided path, replacing any
+	 * existing contents and compressing it if necessary
+	 *
+	 * @param handler the handler through which the file is accessed
+	 * @param path    the path of the lexicon
+	 *
+	 * @return a new buffered stream, which the caller must close; for
+	 * 		handlers other than {@link StreamingFileHandler} nothing is
+	 * 		written until it is closed
+	 *
+	 * @throws IOException if the file cannot be opened
+	 */
+	public OutputStream newOutputStream(FileHandler handler, String path)
+			throws IOException {
+		OutputStream stream = handler instanceof StreamingFileHandler
+				? Channels.newOutputStream(
+				((StreamingFileHandler) handler).openForWriting(path))
+				: new HandlerOutputStream(handler, path);
+		if (isCompressed(path)) {
+			return new GZIPOutputStream(stream, BUFFER_SIZE);
+		}
+		return new BufferedOutputStream(stream, BUFFER_SIZE);
+	}
+
+	/**
+	 * @param path the path of a lexicon
+	 *
+	 * @return true if the lexicon is stored in the binary format read by
+	 * 		{@link BinaryLexiconReader}, possibly compressed
+	 */
+	public boolean isBinary(String path) {
+		String name = isCompressed(path)
+				? path.substring(0, path.length() - GZIP_EXTENSION.length())
+				: path;
+		return name.endsWith(BINARY_EXTENSION);
+	}
+
+	/**
+	 * @param path the path of a lexicon
+	 *
+	 * @return true if the lexicon is read and written with gzip
+	 */
+	public boolean isCompressed(String path) {
+		return path.endsWith(GZIP_EXTENSION);
+	}
+
+	/**
+	 * @param handler the handler through which files are accessed
+	 *
+	 * @return the charset of a {@link StreamingFileHandler}, or UTF-8 for
+	 * 		other handlers, which store text other than compressed lexicons
+	 * 		in their own way
+	 */
+	public Charset charset(FileHandler handler) {
+		return handler instanceof StreamingFileHandler
+				? ((StreamingFileHandler) handler).getCharset()
+				: StandardCharsets.UTF_8;
+	}
+
+	/**
+	 * @param handler the handler through which the file is accessed
+	 * @param path    the path of the lexicon
+	 *
+	 * @return the size of the file in bytes, or -1 if it is not on disk or
+	 * 		cannot be read
+	 */
+	public long size(FileHandler handler, String path) {
+		if (!(handler instanceof StreamingFileHandler)) {
+			return -1;
+		}
+		try {
+			return ((StreamingFileHandler) handler).size(path);
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	private Reader openReader(FileHandler handler, String path)
+			throws IOException {
+		if (isCompressed(path)) {
+			return new InputStreamReader(newInputStream(handler, path),
+					decoder(charset(handler)));
+		}
+		if (handler instanceof StreamingFileHandler) {
+			StreamingFileHandler streaming = (StreamingFileHandler) handler;
+			return Channels.newReader(streaming.openForReading(path),
+					decoder(streaming.getCharset()), BUFFER_SIZE);
+		}
+		return new StringReader(read(handler, path));
+	}
+
+	private String read(FileHandler handler, String path) throws IOException {
+		String data = handler.read(path);
+		if (data == null) {
+			throw new IOException("No data could be read from " + path);
+		}
+		return data;
+	}
+
+	private CharsetDecoder decoder(Charset charset) {
+		return charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	private CharsetEncoder encoder(Charset charset) {
+		return charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Collects bytes and passes them to a {@link FileHandler} when closed
+	 */
+	private static final class HandlerOutputStream
+			extends ByteArrayOutputStream {
+
+		private final FileHandler handler;
+		private final String path;
+		private boolean closed;
+
+		private HandlerOutputStream(FileHandler handler, String path) {
+			this.handler = handler;
+			this.path = path;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				handler.writeString(path,
+						new String(toByteArray(), StandardCharsets.ISO_8859_1));
+			}
+		}
+	}
+
+	/**
+	 * Collects its output and passes it to a {@link FileHandler} when closed
+	 */
+	private static final class HandlerWriter extends StringWriter {
+
+		private final FileHandler handler;
+		private final String path;
+		private boolean closed;
+
+		private HandlerWriter(FileHandler handler, String path) {
+			this.handler = handler;
+			this.path = path;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				handler.writeString(path, toString());
+			}
+		}
+	}
+}
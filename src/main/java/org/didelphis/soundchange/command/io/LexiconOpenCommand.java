@@ -11,55 +11,335 @@ import lombok.ToString;
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.phonetic.Lexicon;
 import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.ScriptOptions;
+import org.didelphis.soundchange.SegmentPool;
+import org.didelphis.soundchange.event.ScriptEvent;
+import org.didelphis.soundchange.event.ScriptEvents;
 import org.didelphis.utilities.Logger;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * @author Samantha Fiona McCabe
  * @date 2014-10-13
  */
-@ToString
-@EqualsAndHashCode(callSuper = true)
+@ToString(exclude = {"factories", "workerFactories", "cache"})
+@EqualsAndHashCode(callSuper = true,
+		exclude = {"factories", "workerFactories", "cache"})
 public class LexiconOpenCommand<T> extends AbstractLexiconIoCommand {
 
 	private static final Logger LOG = Logger.create(LexiconOpenCommand.class);
 
 	private final LexiconMap<T> lexicons;
 	private final SequenceFactory<T> factory;
+	private final ScriptOptions options;
+	private final Supplier<SequenceFactory<T>> factories;
+	private final ThreadLocal<SequenceFactory<T>> workerFactories;
+
+	private SegmentationCache<T> cache;
 
 	public LexiconOpenCommand(LexiconMap<T> lexicons, String path, String handle,
 			FileHandler handler, SequenceFactory<T> factory) {
+		this(lexicons, path, handle, handler, factory, new ScriptOptions());
+	}
+
+	/**
+	 * The provided factory is used only on the thread which runs the
+	 * command, so lexicons are never segmented in parallel
+	 */
+	public LexiconOpenCommand(LexiconMap<T> lexicons, String path, String handle,
+			FileHandler handler, SequenceFactory<T> factory,
+			ScriptOptions options) {
 		super(path, handle, handler);
 		this.lexicons = lexicons;
 		this.factory = factory;
+		this.options = options;
+		factories = null;
+		workerFactories = null;
+	}
+
+	/**
+	 * As the other constructors, but able to segment in parallel (see {@link
+	 * ScriptOptions#getParallelism()}): each thread segments with its own
+	 * factory from the supplier, since factories are not known to be safe to
+	 * share between threads
+	 *
+	 * @param factories supplies new, equal factories
+	 */
+	public LexiconOpenCommand(LexiconMap<T> lexicons, String path, String handle,
+			FileHandler handler, Supplier<SequenceFactory<T>> factories,
+			ScriptOptions options) {
+		super(path, handle, handler);
+		this.lexicons = lexicons;
+		this.options = options;
+		this.factories = factories;
+		factory = factories.get();
+		workerFactories = ThreadLocal.withInitial(factories);
+	}
+
+	public SequenceFactory<T> getFactory() {
+		return factory;
+	}
+
+	/**
+	 * @return a supplier of factories equal to {@link #getFactory()}, or
+	 * 		{@code null} if the command was created with a single factory
+	 */
+	public Supplier<SequenceFactory<T>> getFactories() {
+		return factories;
 	}
 
 	@Override
 	public void run() {
+		ScriptEvent event =
+				ScriptEvents.lexicon("OPEN", getHandle(), getPath());
+		open();
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			long rows = 0;
+			Iterable<List<Sequence<T>>> lexicon = lexicons.getRows(getHandle());
+			if (lexicon != null) {
+				for (List<Sequence<T>> ignored : lexicon) {
+					rows++;
+				}
+			}
+			event.setRows(rows);
+			event.setBytes(LexiconFiles.size(getHandler(), getPath()));
+			event.commit();
+		}
+	}
+
+	private void open() {
 		String path = getPath();
 		FileHandler handler = getHandler();
 
-		CharSequence charSequence = null;
-		try {
-			charSequence = handler.read(path);
+		// The lexicon may have been written earlier in the script
+		lexicons.getWrites().await();
+
+		SegmentPool<T> pool = lexicons.getPool();
+		OffHeapLexicon<T> store = options.isOffHeap()
+				? new OffHeapLexicon<>(
+				factory.getFeatureMapping().getFeatureModel(), pool)
+				: null;
+		Lexicon<T> lexicon = new Lexicon<>();
+		Consumer<List<Sequence<T>>> rows = store == null
+				? lexicon::add
+				: row -> lexicon.add(store.add(row));
+
+		if (LexiconFiles.isBinary(path)) {
+			try (BinaryLexiconReader<T> reader = new BinaryLexiconReader<>(
+					LexiconFiles.newInputStream(handler, path), factory, path,
+					pool)) {
+				for (List<Sequence<T>> row = reader.readRow(); row != null;
+				     row = reader.readRow()) {
+					rows.accept(row);
+				}
+			} catch (IOException e) {
+				LOG.error("Failed to read from path {}", path, e);
+			}
+			addLexicon(path, lexicon, store);
+			return;
+		}
+
+		if (options.isDeduplicating()) {
+			readDeduplicated(path, lexicon, store, pool);
+			return;
+		}
+
+		if (store == null && handler instanceof StreamingFileHandler &&
+				!LexiconFiles.isCompressed(path)) {
+			StreamingFileHandler streaming = (StreamingFileHandler) handler;
+			try {
+				long size = streaming.size(path);
+				if (size >= options.getMappingThreshold() &&
+						size <= Integer.MAX_VALUE) {
+					Lexicon<T> mapped = MappedLexicon.map(streaming, path,
+							factory, pool);
+					LOG.info("Mapped lexicon {} ({} bytes)", path, size);
+					lexicons.addLexicon(getHandle(), path, mapped);
+					return;
+				}
+			} catch (IOException e) {
+				// Report the failure when reading normally
+				LOG.warn("Lexicon {} could not be mapped", path, e);
+			}
+		}
+
+		SegmentationCache<T> cache = getCache();
+		try (LexiconReader reader = new LexiconReader(
+				LexiconFiles.newReader(handler, path))) {
+			if (options.getParallelism() > 1 && workerFactories != null) {
+				readParallel(reader, rows, pool);
+			} else {
+				for (List<String> row = reader.readRow(); row != null;
+				     row = reader.readRow()) {
+					rows.accept(segment(row, pool));
+				}
+			}
 		} catch (IOException e) {
 			LOG.error("Failed to read from path {}", path, e);
 		}
-		String data = charSequence == null ? "null" : charSequence.toString();
-		Collection<List<String>> rows = new ArrayList<>();
-		for (String line : data.split("\r?\n|\r", -1)) {
-			List<String> cells = new ArrayList<>();
-			Collections.addAll(cells, line.split("\t", -1));
-			rows.add(cells);
+		if (cache != null) {
+			LOG.info("Segmentation cache for {}: {} hits, {} misses ({}%)",
+					path, cache.getHits(), cache.getMisses(),
+					Math.round(cache.getHitRate() * 100));
 		}
+		addLexicon(path, lexicon, store);
+	}
 
-		Lexicon<T> lexicon = Lexicon.fromRows(factory, rows);
+	private void addLexicon(String path, Lexicon<T> lexicon,
+			OffHeapLexicon<T> store) {
+		if (store != null) {
+			LOG.info("Stored lexicon {} off-heap ({} bytes)", path,
+					store.getAllocatedBytes());
+		}
 		lexicons.addLexicon(getHandle(), path, lexicon);
 	}
+
+	/**
+	 * Reads the lexicon as text, segmenting each distinct cell once; the
+	 * lexicon holds a single row of the distinct forms, and the rows of the
+	 * file are recorded by a {@link DedupIndex}
+	 */
+	private void readDeduplicated(String path, Lexicon<T> lexicon,
+			OffHeapLexicon<T> store, SegmentPool<T> pool) {
+		DedupIndex.Builder builder = new DedupIndex.Builder();
+		try (LexiconReader reader = new LexiconReader(
+				LexiconFiles.newReader(getHandler(), path))) {
+			for (List<String> row = reader.readRow(); row != null;
+			     row = reader.readRow()) {
+				builder.addRow(row);
+			}
+		} catch (IOException e) {
+			LOG.error("Failed to read from path {}", path, e);
+		}
+		List<Sequence<T>> forms = segment(builder.getStrings(), pool);
+		if (store != null) {
+			forms = store.add(forms);
+			LOG.info("Stored lexicon {} off-heap ({} bytes)", path,
+					store.getAllocatedBytes());
+		}
+		lexicon.add(forms);
+		DedupIndex<T> index = builder.build(forms);
+		int cells = index.getCellCount();
+		LOG.info("Deduplicated lexicon {}: {} cells, {} distinct forms ({}%)",
+				path, cells, index.getFormCount(),
+				cells == 0 ? 100 : Math.round(100.0 * index.getFormCount() / cells));
+		lexicons.addLexicon(getHandle(), path, lexicon, index);
+	}
+
+	/**
+	 * @return the segmentation cache for this command's factory, with its
+	 * 		statistics reset, or {@code null} if caching is disabled
+	 */
+	private synchronized SegmentationCache<T> getCache() {
+		int size = options.getSegmentationCacheSize();
+		if (size == 0) {
+			return null;
+		}
+		if (cache == null) {
+			cache = new SegmentationCache<>(factory, size);
+		}
+		cache.resetStatistics();
+		return cache;
+	}
+
+	/**
+	 * Segments chunks of rows on the script's segmenter threads while the file
+	 * is read, adding them to the lexicon in their original order
+	 */
+	private void readParallel(LexiconReader reader,
+			Consumer<List<Sequence<T>>> rows, SegmentPool<T> pool)
+			throws IOException {
+		int parallelism = options.getParallelism();
+		int chunkSize = options.getChunkSize();
+		ExecutorService executor = lexicons.getSegmenters().get(parallelism);
+		Deque<Future<List<List<Sequence<T>>>>> pending = new ArrayDeque<>();
+		try {
+			List<List<String>> chunk = new ArrayList<>(chunkSize);
+			for (List<String> row = reader.readRow(); row != null;
+			     row = reader.readRow()) {
+				chunk.add(row);
+				if (chunk.size() == chunkSize) {
+					pending.add(submit(executor, chunk, pool));
+					chunk = new ArrayList<>(chunkSize);
+					// Bound the number of rows held in memory as text
+					if (pending.size() > 2 * parallelism) {
+						addAll(rows, pending.poll());
+					}
+				}
+			}
+			if (!chunk.isEmpty()) {
+				pending.add(submit(executor, chunk, pool));
+			}
+			while (!pending.isEmpty()) {
+				addAll(rows, pending.poll());
+			}
+		} finally {
+			// Only left non-empty by a failure; the rest are not needed
+			for (Future<?> future : pending) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private Future<List<List<Sequence<T>>>> submit(ExecutorService executor,
+			List<List<String>> chunk, SegmentPool<T> pool) {
+		return executor.submit(() -> {
+			SequenceFactory<T> local = workerFactories.get();
+			List<List<Sequence<T>>> rows = new ArrayList<>(chunk.size());
+			for (List<String> row : chunk) {
+				rows.add(segment(row, pool, local));
+			}
+			return rows;
+		});
+	}
+
+	private static <T> void addAll(Consumer<List<Sequence<T>>> rows,
+			Future<List<List<Sequence<T>>>> future) throws IOException {
+		try {
+			for (List<Sequence<T>> row : future.get()) {
+				rows.accept(row);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private List<Sequence<T>> segment(List<String> row, SegmentPool<T> pool) {
+		return segment(row, pool, factory);
+	}
+
+	private List<Sequence<T>> segment(List<String> row, SegmentPool<T> pool,
+			SequenceFactory<T> factory) {
+		List<Sequence<T>> sequences = new ArrayList<>(row.size());
+		for (String cell : row) {
+			sequences.add(pool.intern(cache == null
+					? factory.toSequence(cell)
+					: cache.toSequence(cell, factory)));
+		}
+		return sequences;
+	}
 }
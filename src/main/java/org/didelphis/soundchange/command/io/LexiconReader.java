@@ -0,0 +1,91 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class {@code LexiconReader}
+ *
+ * Tokenizes a lexicon into rows of tab-separated cells directly from a
+ * {@link Reader}, one row at a time. Lines may be terminated by {@code \n},
+ * {@code \r\n}, or {@code \r}. As with splitting the whole file, a trailing
+ * line terminator produces a final row containing one empty cell.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public class LexiconReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Reader reader;
+	private final char[] buffer;
+	private final StringBuilder cell;
+
+	private int position;
+	private int limit;
+	private boolean carriageReturn;
+	private boolean finished;
+
+	public LexiconReader(Reader reader) {
+		this.reader = reader;
+		buffer = new char[BUFFER_SIZE];
+		cell = new StringBuilder();
+	}
+
+	/**
+	 * @return the cells of the next row, or {@code null} if the end of the
+	 * 		input has been reached
+	 *
+	 * @throws IOException if the underlying reader fails
+	 */
+	public List<String> readRow() throws IOException {
+		if (finished) {
+			return null;
+		}
+		List<String> cells = new ArrayList<>();
+		cell.setLength(0);
+		while (true) {
+			if (position == limit) {
+				limit = reader.read(buffer);
+				position = 0;
+				if (limit < 0) {
+					limit = 0;
+					finished = true;
+					cells.add(cell.toString());
+					return cells;
+				}
+			}
+			char c = buffer[position++];
+			boolean skip = carriageReturn && c == '\n';
+			carriageReturn = c == '\r';
+			if (skip) {
+				continue;
+			}
+			if (c == '\t') {
+				cells.add(cell.toString());
+				cell.setLength(0);
+			} else if (c == '\n' || c == '\r') {
+				cells.add(cell.toString());
+				return cells;
+			} else {
+				cell.append(c);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
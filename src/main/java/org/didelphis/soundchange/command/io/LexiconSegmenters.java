@@ -0,0 +1,77 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class {@code LexiconSegmenters}
+ *
+ * The threads on which the {@code OPEN} commands of a script segment their
+ * lexicons in parallel. The pool is started by the first parallel read and
+ * then shared by every later one, until it is stopped by {@link #shutdown()}
+ * at the end of the run. Idle threads also exit on their own, so that a pool
+ * which is never shut down does not outlive its use.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class LexiconSegmenters {
+
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	private ExecutorService executor;
+	private int parallelism;
+
+	/**
+	 * @param parallelism the number of threads to segment on
+	 *
+	 * @return the running pool, started if there is none or if it has a
+	 * 		different number of threads
+	 */
+	public synchronized ExecutorService get(int parallelism) {
+		if (executor != null && this.parallelism != parallelism) {
+			executor.shutdown();
+			executor = null;
+		}
+		if (executor == null) {
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(
+					parallelism,
+					parallelism,
+					KEEP_ALIVE_SECONDS,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable -> {
+						Thread thread = new Thread(runnable, "lexicon-segmenter");
+						thread.setDaemon(true);
+						return thread;
+					});
+			pool.allowCoreThreadTimeOut(true);
+			executor = pool;
+			this.parallelism = parallelism;
+		}
+		return executor;
+	}
+
+	/**
+	 * Stops the pool once its remaining tasks have finished
+	 */
+	public void shutdown() {
+		ExecutorService service;
+		synchronized (this) {
+			service = executor;
+			executor = null;
+		}
+		if (service != null) {
+			service.shutdown();
+		}
+	}
+}
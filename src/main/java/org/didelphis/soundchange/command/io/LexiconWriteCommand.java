@@ -11,12 +11,15 @@ import lombok.ToString;
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.parsing.FormatterMode;
 import org.didelphis.language.phonetic.Lexicon;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
 import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.event.ScriptEvent;
+import org.didelphis.soundchange.event.ScriptEvents;
 import org.didelphis.utilities.Logger;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -40,34 +43,120 @@ public class LexiconWriteCommand<T> extends AbstractLexiconIoCommand {
 		mode = modeParam;
 	}
 
+	/**
+	 * Takes a copy of the lexicon and writes it in the background, so that
+	 * later commands can run while it is written. Pending writes are awaited
+	 * by {@code OPEN}, {@code CLOSE}, and at the end of the script.
+	 */
 	@Override
 	public void run() {
 		// GET data from lexicons
-		Lexicon<T> lexicon = lexicons.getLexicon(getHandle());
+		Iterable<List<Sequence<T>>> lexicon = lexicons.getRows(getHandle());
+		prepare();
+		// Segments are not modified by rules, so need not be copied; the
+		// copies are formatted on the writer thread, not this one
+		List<List<Sequence<T>>> snapshot = new ArrayList<>();
+		for (List<Sequence<T>> row : lexicon) {
+			List<Sequence<T>> cells = new ArrayList<>(row.size());
+			for (Sequence<T> sequence : row) {
+				cells.add(new BasicSequence<>(sequence));
+			}
+			snapshot.add(cells);
+		}
+		boolean binary = LexiconFiles.isBinary(getPath());
+		lexicons.getWrites().submit(() -> {
+			ScriptEvent event = newEvent("WRITE");
+			commit(event, binary
+					? writeBinary(snapshot, false)
+					: write(snapshot, false));
+		});
+	}
 
-		String sb = "";
-		Iterator<List<Sequence<T>>> i1 = lexicon.iterator();
-		while (i1.hasNext()) {
-			Iterator<Sequence<T>> i2 = i1.next().iterator();
-			while (i2.hasNext()) {
-				Sequence<T> sequence = i2.next();
-				sb += sequence;
-				if (i2.hasNext()) {
-					sb += '\t';
-				}
+	/**
+	 * Writes the lexicon immediately, without copying it. The lexicon must be
+	 * discarded afterwards: each row mapped from a file (see {@link
+	 * MappedLexicon}) is released as soon as it is written, so that at most
+	 * one decoded row is held by the writer at a time.
+	 *
+	 * @return the number of rows written
+	 */
+	long runNow() {
+		Iterable<List<Sequence<T>>> lexicon = lexicons.getRows(getHandle());
+		prepare();
+		return LexiconFiles.isBinary(getPath())
+				? writeBinary(lexicon, true)
+				: write(lexicon, true);
+	}
 
+	/**
+	 * @param operation the command being recorded
+	 *
+	 * @return a new Flight Recorder event for the output of this command,
+	 * 		which has begun, or {@code null} if it is not being recorded
+	 */
+	ScriptEvent newEvent(String operation) {
+		return ScriptEvents.lexicon(operation, getHandle(), getPath());
+	}
+
+	/**
+	 * Ends and commits the event, if it is being recorded
+	 *
+	 * @param event an event returned by {@link #newEvent(String)}
+	 * @param rows  the number of rows written
+	 */
+	void commit(ScriptEvent event, long rows) {
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.setRows(rows);
+			event.setBytes(LexiconFiles.size(getHandler(), getPath()));
+			event.commit();
+		}
+	}
+
+	private void prepare() {
+		if (getHandler() instanceof StreamingFileHandler) {
+			// The output may still be mapped by a lexicon opened from it
+			MappedLexicon.decodeAll(lexicons.values(), getPath());
+		}
+	}
+
+	private long write(Iterable<? extends Iterable<?>> rows, boolean release) {
+		String path = getPath();
+		long count = 0;
+		try (LexiconWriter writer = new LexiconWriter(
+				LexiconFiles.newWriter(getHandler(), path), mode)) {
+			for (Iterable<?> row : rows) {
+				writer.writeRow(row);
+				if (release) {
+					MappedLexicon.release(row);
+				}
+				count++;
 			}
-			if (i1.hasNext()) {
-				sb += '\n';
-			}
+		} catch (IOException e) {
+			LOG.error("Failed to write to path {}", path, e);
 		}
-		String data = sb.trim();
-		String normalized = mode.normalize(data);
+		return count;
+	}
+
+	private long writeBinary(Iterable<? extends List<Sequence<T>>> rows,
+			boolean release) {
 		String path = getPath();
-		try {
-			getHandler().writeString(path, normalized);
+		long count = 0;
+		try (BinaryLexiconWriter<T> writer = new BinaryLexiconWriter<>(
+				LexiconFiles.newOutputStream(getHandler(), path))) {
+			for (List<Sequence<T>> row : rows) {
+				writer.writeRow(row);
+				if (release) {
+					MappedLexicon.release(row);
+				}
+				count++;
+			}
 		} catch (IOException e) {
 			LOG.error("Failed to write to path {}", path, e);
 		}
+		return count;
 	}
 }
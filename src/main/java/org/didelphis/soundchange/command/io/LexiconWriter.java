@@ -0,0 +1,94 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.parsing.FormatterMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Class {@code LexiconWriter}
+ *
+ * Writes a lexicon one row at a time, separating cells with tabs and rows with
+ * line feeds. Each cell is normalized with the provided {@link FormatterMode}.
+ * Leading and trailing whitespace of the output as a whole is removed, as by
+ * {@link String#trim()}; whitespace is held back only until the next visible
+ * character is written, so memory use does not depend on the lexicon size.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public class LexiconWriter implements Closeable {
+
+	private final Writer writer;
+	private final FormatterMode mode;
+	private final StringBuilder pending;
+
+	private boolean started;
+	private boolean firstRow;
+
+	public LexiconWriter(Writer writer, FormatterMode mode) {
+		this.writer = writer;
+		this.mode = mode;
+		pending = new StringBuilder();
+		firstRow = true;
+	}
+
+	/**
+	 * @param cells the cells of the row, written using {@link Object#toString}
+	 *
+	 * @throws IOException if the underlying writer fails
+	 */
+	public void writeRow(Iterable<?> cells) throws IOException {
+		if (!firstRow) {
+			append("\n");
+		}
+		firstRow = false;
+		boolean firstCell = true;
+		for (Object cell : cells) {
+			if (!firstCell) {
+				append("\t");
+			}
+			firstCell = false;
+			append(mode.normalize(String.valueOf(cell)));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		// Trailing whitespace is discarded
+		writer.close();
+	}
+
+	private void append(String string) throws IOException {
+		int first = 0;
+		int last = string.length();
+		while (first < last && string.charAt(first) <= ' ') {
+			first++;
+		}
+		if (first == last) {
+			if (started) {
+				pending.append(string);
+			}
+			return;
+		}
+		while (string.charAt(last - 1) <= ' ') {
+			last--;
+		}
+		if (started) {
+			writer.append(pending);
+			writer.write(string, 0, first);
+		}
+		pending.setLength(0);
+		writer.write(string, first, last - first);
+		pending.append(string, last, string.length());
+		started = true;
+	}
+}
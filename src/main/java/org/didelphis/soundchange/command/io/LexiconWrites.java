@@ -0,0 +1,80 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.utilities.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class {@code LexiconWrites}
+ *
+ * The lexicon writes of a script which are still in progress. Writes run in
+ * order on a single background thread, which is started when the first write
+ * is submitted and stopped by {@link #await()}.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class LexiconWrites {
+
+	private static final Logger LOG = Logger.create(LexiconWrites.class);
+
+	private ExecutorService executor;
+	private List<Future<?>> pending;
+
+	/**
+	 * @param write a task which writes a lexicon, and which does not depend on
+	 * 		any state that later commands might change
+	 */
+	public synchronized void submit(Runnable write) {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "lexicon-writer");
+				thread.setDaemon(true);
+				return thread;
+			});
+			pending = new ArrayList<>();
+		}
+		pending.add(executor.submit(write));
+	}
+
+	/**
+	 * Blocks until every submitted write has finished
+	 */
+	public void await() {
+		ExecutorService service;
+		List<Future<?>> futures;
+		synchronized (this) {
+			service = executor;
+			futures = pending;
+			executor = null;
+			pending = null;
+		}
+		if (service == null) {
+			return;
+		}
+		service.shutdown();
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOG.error("Interrupted while waiting for lexicon writes", e);
+				return;
+			} catch (ExecutionException e) {
+				LOG.error("Lexicon write failed", e.getCause());
+			}
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.phonetic.Lexicon;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.SegmentPool;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Class {@code MappedLexicon}
+ *
+ * A lexicon file mapped into memory, together with the offsets of its rows.
+ * Opening a file only requires a single scan for line terminators; each row
+ * is decoded into sequences the first time it is accessed, typically by the
+ * first rule to run. Rows are split exactly as by {@link LexiconReader}, which
+ * requires an encoding in which tabs and line terminators are single ASCII
+ * bytes.
+ *
+ * The mapping remains valid until the lexicon is no longer referenced, which
+ * for a lexicon read by {@code OPEN} is after it is closed. Because a file
+ * cannot be safely overwritten while it is mapped, any remaining rows must be
+ * decoded with {@link #decodeAll(Iterable, String)} before writing to the
+ * path they were read from.
+ *
+ * A decoded row is kept, because rules change words by replacing them in the
+ * row, and the changes exist nowhere else. The saving is therefore in opening
+ * the lexicon, and in rows no rule reaches, until the lexicon is closed:
+ * {@code CLOSE} releases each row with {@link #release(Object)} as soon as it
+ * has been written, so that the decoded rows are freed one by one instead of
+ * all at once after the last has been written.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class MappedLexicon<T> {
+
+	private final Path path;
+	private final ByteBuffer buffer;
+	private final Charset charset;
+	private final SequenceFactory<T> factory;
+	private final SegmentPool<T> pool;
+
+	private int[] starts;
+	private int[] ends;
+	private int rows;
+
+	private MappedLexicon(Path path, ByteBuffer buffer, Charset charset,
+			SequenceFactory<T> factory, SegmentPool<T> pool) {
+		this.path = path;
+		this.buffer = buffer;
+		this.charset = charset;
+		this.factory = factory;
+		this.pool = pool;
+		starts = new int[1024];
+		ends = new int[1024];
+		index();
+	}
+
+	/**
+	 * Maps the provided file into memory and indexes its rows
+	 *
+	 * @param handler the handler through which the file is opened, and whose
+	 *                charset is used to decode rows
+	 * @param path    the path of the lexicon; must be smaller than 2 GiB
+	 * @param factory the factory used to decode rows
+	 * @param pool    the pool holding the segments of decoded rows
+	 * @param <T>     the feature type
+	 *
+	 * @return a new lexicon whose rows are decoded on first access
+	 *
+	 * @throws IOException if the file cannot be mapped, or its encoding does
+	 * 		not store tabs and line terminators as single ASCII bytes
+	 */
+	static <T> Lexicon<T> map(StreamingFileHandler handler, String path,
+			SequenceFactory<T> factory, SegmentPool<T> pool)
+			throws IOException {
+		Charset charset = handler.getCharset();
+		if (!Arrays.equals("\t\r\n".getBytes(charset), new byte[]{9, 13, 10})) {
+			throw new IOException("Files encoded in " + charset +
+					" cannot be mapped");
+		}
+		Path file = Paths.get(path).toAbsolutePath().normalize();
+		MappedByteBuffer buffer;
+		try (FileChannel channel = handler.openForReading(path)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+		}
+		MappedLexicon<T> mapped = new MappedLexicon<>(file, buffer, charset,
+				factory, pool);
+		Lexicon<T> lexicon = new Lexicon<>();
+		for (int i = 0; i < mapped.rows; i++) {
+			lexicon.add(new Row<>(mapped, i));
+		}
+		return lexicon;
+	}
+
+	/**
+	 * Decodes every row in the provided lexicons which is mapped from the
+	 * provided path, so that the file can be overwritten
+	 *
+	 * @param lexicons the lexicons which might contain mapped rows
+	 * @param path     the path about to be written
+	 * @param <T>      the feature type
+	 */
+	static <T> void decodeAll(Iterable<Lexicon<T>> lexicons, String path) {
+		Path file = Paths.get(path).toAbsolutePath().normalize();
+		for (Lexicon<T> lexicon : lexicons) {
+			for (List<Sequence<T>> row : lexicon) {
+				if (row instanceof Row) {
+					((Row<?>) row).decodeIfFrom(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards the decoded contents of the provided row, if it is mapped. The
+	 * row may not be used afterwards.
+	 *
+	 * @param row a row which has been written and will not be used again
+	 */
+	static void release(Object row) {
+		if (row instanceof Row) {
+			((Row<?>) row).release();
+		}
+	}
+
+	/**
+	 * @param row a row of a lexicon
+	 *
+	 * @return true if the row is mapped and currently holds decoded sequences
+	 */
+	static boolean isDecoded(Object row) {
+		return row instanceof Row && ((Row<?>) row).sequences != null;
+	}
+
+	private void index() {
+		int limit = buffer.limit();
+		int start = 0;
+		for (int i = 0; i < limit; i++) {
+			byte b = buffer.get(i);
+			if (b == '\n' || b == '\r') {
+				addRow(start, i);
+				if (b == '\r' && i + 1 < limit && buffer.get(i + 1) == '\n') {
+					i++;
+				}
+				start = i + 1;
+			}
+		}
+		addRow(start, limit);
+	}
+
+	private void addRow(int start, int end) {
+		if (rows == starts.length) {
+			starts = Arrays.copyOf(starts, rows * 2);
+			ends = Arrays.copyOf(ends, rows * 2);
+		}
+		starts[rows] = start;
+		ends[rows] = end;
+		rows++;
+	}
+
+	private List<Sequence<T>> decode(int row) {
+		ByteBuffer slice = buffer.duplicate();
+		// Called through Buffer, whose methods ByteBuffer only overrides
+		// from Java 9, so that the class also links on Java 8
+		((Buffer) slice).limit(ends[row]);
+		((Buffer) slice).position(starts[row]);
+		String line = charset.decode(slice).toString();
+		List<Sequence<T>> sequences = new ArrayList<>();
+		int start = 0;
+		for (int i = line.indexOf('\t'); i >= 0; i = line.indexOf('\t', start)) {
+			String cell = line.substring(start, i);
+			sequences.add(pool.intern(factory.toSequence(cell)));
+			start = i + 1;
+		}
+		String cell = line.substring(start);
+		sequences.add(pool.intern(factory.toSequence(cell)));
+		return sequences;
+	}
+
+	/**
+	 * A row of a mapped lexicon, decoded when it is first accessed
+	 */
+	private static final class Row<T> extends AbstractList<Sequence<T>>
+			implements RandomAccess {
+
+		private final int index;
+
+		// Released once the row is decoded
+		private MappedLexicon<T> source;
+		private List<Sequence<T>> sequences;
+		private boolean released;
+
+		private Row(MappedLexicon<T> source, int index) {
+			this.source = source;
+			this.index = index;
+		}
+
+		@Override
+		public Sequence<T> get(int i) {
+			return decoded().get(i);
+		}
+
+		@Override
+		public Sequence<T> set(int i, Sequence<T> sequence) {
+			return decoded().set(i, sequence);
+		}
+
+		@Override
+		public int size() {
+			return decoded().size();
+		}
+
+		private void decodeIfFrom(Path path) {
+			if (source != null && source.path.equals(path)) {
+				decoded();
+			}
+		}
+
+		private void release() {
+			source = null;
+			sequences = null;
+			released = true;
+		}
+
+		private List<Sequence<T>> decoded() {
+			if (released) {
+				throw new IllegalStateException("Row " + index
+						+ " was released after it was written");
+			}
+			if (sequences == null) {
+				sequences = source.decode(index);
+				source = null;
+			}
+			return sequences;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.SegmentPool;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Class {@code OffHeapLexicon}
+ *
+ * Stores the words of a lexicon outside the Java heap, as arrays of segment
+ * IDs in direct buffers, so that very large lexicons do not create an object
+ * graph for the garbage collector to trace. Each distinct segment is stored
+ * once, in a table of pooled segments (see {@link SegmentPool}); IDs are two
+ * bytes, allowing up to 65,535 distinct segments.
+ *
+ * Rows are exposed as lists which decode a word into a new, mutable sequence
+ * on each call to {@code get}, and encode it again on {@code set}. This
+ * matches how rules update lexicons. A word which still fits in its slot is
+ * written in place; otherwise it is moved to a new slot with some room to
+ * grow, and the old slot is abandoned until the lexicon is released.
+ * Since rules discard it, {@code set} returns {@code null} rather than
+ * decoding the previous word.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class OffHeapLexicon<T> {
+
+	private static final int BLOCK_CHARS = 1 << 23; // 16 MiB
+	private static final int MAX_SEGMENTS = Character.MAX_VALUE;
+
+	private final FeatureModel<T> model;
+	private final SegmentPool<T> pool;
+	private final List<Segment<T>> segments;
+	private final Map<Segment<T>, Character> ids;
+	private final List<CharBuffer> blocks;
+
+	// Per word: block index and offset, length, and slot capacity
+	private int[] blockIndices;
+	private int[] offsets;
+	private int[] lengths;
+	private int[] capacities;
+	private int words;
+
+	private CharBuffer current;
+
+	OffHeapLexicon(FeatureModel<T> model, SegmentPool<T> pool) {
+		this.model = model;
+		this.pool = pool;
+		segments = new ArrayList<>();
+		ids = new IdentityHashMap<>();
+		blocks = new ArrayList<>();
+		blockIndices = new int[1024];
+		offsets = new int[1024];
+		lengths = new int[1024];
+		capacities = new int[1024];
+	}
+
+	/**
+	 * Stores the provided row
+	 *
+	 * @param row the cells of a row; they are not retained
+	 *
+	 * @return a view of the stored row
+	 */
+	synchronized List<Sequence<T>> add(List<Sequence<T>> row) {
+		int first = words;
+		for (Sequence<T> sequence : row) {
+			if (words == offsets.length) {
+				int size = words * 2;
+				blockIndices = Arrays.copyOf(blockIndices, size);
+				offsets = Arrays.copyOf(offsets, size);
+				lengths = Arrays.copyOf(lengths, size);
+				capacities = Arrays.copyOf(capacities, size);
+			}
+			allocate(words, sequence.size());
+			encode(words, sequence);
+			words++;
+		}
+		return new Row<>(this, first, row.size());
+	}
+
+	/**
+	 * @return the number of bytes of off-heap memory in use
+	 */
+	synchronized long getAllocatedBytes() {
+		long chars = 0;
+		for (CharBuffer block : blocks) {
+			chars += block.capacity();
+		}
+		return chars * 2;
+	}
+
+	private synchronized Sequence<T> get(int word) {
+		CharBuffer block = blocks.get(blockIndices[word]);
+		int offset = offsets[word];
+		Sequence<T> sequence = new BasicSequence<>(model);
+		for (int i = 0; i < lengths[word]; i++) {
+			sequence.add(segments.get(block.get(offset + i)));
+		}
+		return sequence;
+	}
+
+	private synchronized void set(int word, Sequence<T> sequence) {
+		int length = sequence.size();
+		if (length > capacities[word]) {
+			allocate(word, length + (length >> 1) + 1);
+		}
+		encode(word, sequence);
+	}
+
+	private void allocate(int word, int capacity) {
+		if (capacity > BLOCK_CHARS) {
+			throw new IllegalArgumentException(
+					"Word of " + capacity + " segments is too long to store");
+		}
+		if (current == null || current.remaining() < capacity) {
+			current = ByteBuffer.allocateDirect(BLOCK_CHARS * 2).asCharBuffer();
+			blocks.add(current);
+		}
+		blockIndices[word] = blocks.size() - 1;
+		offsets[word] = current.position();
+		capacities[word] = capacity;
+		// Called through Buffer, whose methods CharBuffer only overrides from
+		// Java 9, so that the class also links on Java 8
+		((Buffer) current).position(current.position() + capacity);
+	}
+
+	private void encode(int word, Sequence<T> sequence) {
+		CharBuffer block = blocks.get(blockIndices[word]);
+		int offset = offsets[word];
+		int i = 0;
+		for (Segment<T> segment : sequence) {
+			block.put(offset + i, idOf(segment));
+			i++;
+		}
+		lengths[word] = i;
+	}
+
+	private char idOf(Segment<T> segment) {
+		Segment<T> pooled = pool.intern(segment);
+		Character id = ids.get(pooled);
+		if (id == null) {
+			if (segments.size() == MAX_SEGMENTS) {
+				throw new IllegalStateException("Lexicon contains more than "
+						+ MAX_SEGMENTS + " distinct segments");
+			}
+			id = (char) segments.size();
+			segments.add(pooled);
+			ids.put(pooled, id);
+		}
+		return id;
+	}
+
+	private static final class Row<T> extends AbstractList<Sequence<T>>
+			implements RandomAccess {
+
+		private final OffHeapLexicon<T> store;
+		private final int first;
+		private final int size;
+
+		private Row(OffHeapLexicon<T> store, int first, int size) {
+			this.store = store;
+			this.first = first;
+			this.size = size;
+		}
+
+		@Override
+		public Sequence<T> get(int index) {
+			return store.get(first + checkIndex(index));
+		}
+
+		@Override
+		public Sequence<T> set(int index, Sequence<T> sequence) {
+			store.set(first + checkIndex(index), sequence);
+			return null;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		private int checkIndex(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException(
+						"Index: " + index + ", Size: " + size);
+			}
+			return index;
+		}
+	}
+}
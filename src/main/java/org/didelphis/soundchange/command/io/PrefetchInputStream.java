@@ -0,0 +1,152 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Class {@code PrefetchInputStream}
+ *
+ * Reads another stream on a background thread, keeping a few blocks ahead of
+ * the consumer. This allows expensive sources, such as decompression, to run
+ * in parallel with parsing.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class PrefetchInputStream extends InputStream {
+
+	private static final int BLOCKS = 4;
+	private static final byte[] END = new byte[0];
+
+	private final InputStream source;
+	private final BlockingQueue<byte[]> blocks;
+	private final Thread thread;
+
+	private volatile Throwable failure;
+
+	private byte[] block;
+	private int position;
+
+	PrefetchInputStream(InputStream source, int blockSize) {
+		this.source = source;
+		blocks = new ArrayBlockingQueue<>(BLOCKS);
+		block = null;
+		thread = new Thread(() -> fill(blockSize), "lexicon-prefetch");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!next()) {
+			return -1;
+		}
+		return block[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		if (!next()) {
+			return -1;
+		}
+		int count = Math.min(length, block.length - position);
+		System.arraycopy(block, position, bytes, offset, count);
+		position += count;
+		return count;
+	}
+
+	/**
+	 * Stops the background thread, waits for it to finish, and only then
+	 * closes the source, which may not be closed while it is being read: a
+	 * {@link java.util.zip.GZIPInputStream}, for example, would release its
+	 * inflater during the read. The wait is bounded by the current read of
+	 * the source.
+	 */
+	@Override
+	public void close() throws IOException {
+		thread.interrupt();
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		source.close();
+	}
+
+	private boolean next() throws IOException {
+		if (block == END) {
+			return false;
+		}
+		if (block != null && position < block.length) {
+			return true;
+		}
+		try {
+			block = blocks.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+		position = 0;
+		if (block == END) {
+			rethrowFailure();
+			return false;
+		}
+		return true;
+	}
+
+	private void rethrowFailure() throws IOException {
+		Throwable e = failure;
+		if (e instanceof IOException) {
+			throw (IOException) e;
+		}
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+	}
+
+	private void fill(int blockSize) {
+		try {
+			byte[] buffer = new byte[blockSize];
+			for (int n = source.read(buffer); n >= 0; n = source.read(buffer)) {
+				if (n > 0) {
+					blocks.put(Arrays.copyOf(buffer, n));
+				}
+			}
+		} catch (InterruptedException e) {
+			// Closed by the consumer
+			return;
+		} catch (Throwable e) {
+			// Any failure, including errors, must still end the stream, or
+			// the consumer waits for it forever
+			failure = e;
+		}
+		try {
+			blocks.put(END);
+		} catch (InterruptedException e) {
+			// Closed by the consumer
+		}
+	}
+}
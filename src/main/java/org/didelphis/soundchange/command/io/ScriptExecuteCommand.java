@@ -33,6 +33,13 @@ public class ScriptExecuteCommand<T> extends AbstractIoCommand {
 		this.commands = commands;
 	}
 
+	/**
+	 * @return the commands of the executed script
+	 */
+	public Queue<Runnable> getCommands() {
+		return commands;
+	}
+
 	@Override
 	public void run() {
 		for (Runnable command : commands) {
@@ -30,6 +30,13 @@ public class ScriptImportCommand extends AbstractIoCommand {
 		this.commands = commands;
 	}
 
+	/**
+	 * @return the commands of the imported script
+	 */
+	public Queue<Runnable> getCommands() {
+		return commands;
+	}
+
 	@Override
 	public void run() {
 		for (Runnable command : commands) {
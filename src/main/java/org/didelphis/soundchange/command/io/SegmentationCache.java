@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class {@code SegmentationCache}
+ *
+ * A bounded, least-recently-used cache of the sequences produced by a single
+ * {@link SequenceFactory}. Cached sequences are never handed out directly;
+ * each request returns a new copy, since rules modify sequences in place.
+ * Safe for use by several threads.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class SegmentationCache<T> {
+
+	private final SequenceFactory<T> factory;
+	private final Map<String, Sequence<T>> entries;
+
+	private long hits;
+	private long misses;
+
+	SegmentationCache(SequenceFactory<T> factory, int capacity) {
+		this.factory = factory;
+		entries = new LinkedHashMap<String, Sequence<T>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, Sequence<T>> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * @param string the text to segment
+	 *
+	 * @return a new sequence, equal to the one the factory would produce
+	 */
+	Sequence<T> toSequence(String string) {
+		return toSequence(string, factory);
+	}
+
+	/**
+	 * @param string  the text to segment
+	 * @param factory the factory to segment with on a miss, equal to the one
+	 *                this cache was created with; a thread which segments in
+	 *                parallel must provide its own
+	 *
+	 * @return a new sequence, equal to the one the factory would produce
+	 */
+	Sequence<T> toSequence(String string, SequenceFactory<T> factory) {
+		Sequence<T> cached;
+		synchronized (this) {
+			cached = entries.get(string);
+			if (cached == null) {
+				misses++;
+			} else {
+				hits++;
+			}
+		}
+		if (cached == null) {
+			cached = factory.toSequence(string);
+			synchronized (this) {
+				entries.put(string, cached);
+			}
+		}
+		return new BasicSequence<>(cached);
+	}
+
+	synchronized long getHits() {
+		return hits;
+	}
+
+	synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return the fraction of requests served from the cache since the
+	 * 		statistics were last reset
+	 */
+	synchronized double getHitRate() {
+		long total = hits + misses;
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+}
@@ -0,0 +1,110 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.didelphis.io.DiskFileHandler;
+import org.didelphis.io.FileHandler;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class {@code StreamingFileHandler}
+ *
+ * A {@link FileHandler} for files on disk, in a charset chosen when it is
+ * created. Whole files are read and written by a {@link DiskFileHandler} in
+ * that charset; in addition, files can be opened as channels, so that {@link
+ * LexiconFiles} can read and write lexicons incrementally, or map them, in the
+ * same charset. Other handlers are always read and written whole.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@ToString(exclude = "delegate")
+@EqualsAndHashCode(exclude = "delegate")
+public final class StreamingFileHandler implements FileHandler {
+
+	private final Charset charset;
+	private final FileHandler delegate;
+
+	/**
+	 * @param charset the charset in which files are read and written
+	 */
+	public StreamingFileHandler(Charset charset) {
+		this.charset = charset;
+		delegate = new DiskFileHandler(charset.name());
+	}
+
+	@Override
+	public String read(String path) throws IOException {
+		return delegate.read(path);
+	}
+
+	@Override
+	public boolean writeString(String path, String data) throws IOException {
+		return delegate.writeString(path, data);
+	}
+
+	/**
+	 * @return the charset in which files are read and written
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * @param path the path of a file
+	 *
+	 * @return a new channel for reading the file, which the caller must close
+	 *
+	 * @throws IOException if the file cannot be opened
+	 */
+	public FileChannel openForReading(String path) throws IOException {
+		return FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+	}
+
+	/**
+	 * @param path the path of a file, which is created along with any missing
+	 *             parent directories, or else emptied
+	 *
+	 * @return a new channel for writing the file, which the caller must close
+	 *
+	 * @throws IOException if the file cannot be opened
+	 */
+	public FileChannel openForWriting(String path) throws IOException {
+		Path file = Paths.get(path);
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		return FileChannel.open(
+				file,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE
+		);
+	}
+
+	/**
+	 * @param path the path of a file
+	 *
+	 * @return the size of the file in bytes
+	 *
+	 * @throws IOException if the file cannot be examined
+	 */
+	public long size(String path) throws IOException {
+		return Files.size(Paths.get(path));
+	}
+}
@@ -11,6 +11,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.didelphis.language.automata.Regex;
 import org.didelphis.language.automata.matching.Match;
 import org.didelphis.language.parsing.ParseException;
@@ -25,17 +26,20 @@ import org.didelphis.language.phonetic.segments.StandardSegment;
 import org.didelphis.language.phonetic.sequences.BasicSequence;
 import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.soundchange.Condition;
+import org.didelphis.soundchange.SegmentPool;
 import org.didelphis.soundchange.VariableStore;
 import org.didelphis.soundchange.parser.ParserMemory;
 import org.didelphis.utilities.Templates;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -43,7 +47,8 @@ import java.util.stream.Collectors;
  * @date 2013-04-07
  * @since 0.0.0
  */
-@EqualsAndHashCode
+@EqualsAndHashCode(
+		exclude = {"metrics", "matchers", "pool", "variableSequences"})
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class BaseRule<T> implements Rule<T> {
 
@@ -60,14 +65,30 @@ public class BaseRule<T> implements Rule<T> {
 
 	SequenceFactory<T> factory;
 	Map<Sequence<T>, Sequence<T>> transform;
-	RuleMatcher<T> ruleMatcher;
 	VariableStore variables;
 
+	// Null unless metrics are being collected
+	RuleMetrics metrics;
+
+	// Match state is kept per thread, so that a rule may be applied to
+	// different words concurrently
+	@NonFinal ThreadLocal<RuleMatcher<T>> matchers;
+	// Shared with the lexicons of the script
+	SegmentPool<T> pool;
+	// The factory is not known to be thread-safe, so variables are segmented
+	// once, while holding its lock, and the results shared
+	@NonFinal Map<String, List<Sequence<T>>> variableSequences;
+
 	public BaseRule(String rule, ParserMemory<T> memory) {
 		ruleText = rule;
 		variables = memory.getVariables();
 		factory = memory.factorySnapshot();
-		ruleMatcher = new RuleMatcher<>();
+		pool = memory.getLexicons().getPool();
+		metrics = memory.getOptions().isCollectingMetrics()
+				? new RuleMetrics(rule)
+				: null;
+		matchers = ThreadLocal.withInitial(RuleMatcher::new);
+		variableSequences = new ConcurrentHashMap<>();
 		transform = new LinkedHashMap<>();
 		exceptions = new ArrayList<>();
 		conditions = new ArrayList<>();
@@ -77,9 +98,12 @@ public class BaseRule<T> implements Rule<T> {
 	BaseRule(String rule, VariableStore variables, SequenceFactory<T> factory) {
 		this.factory = factory;
 		this.variables = variables;
+		pool = new SegmentPool<>();
 
 		ruleText = rule;
-		ruleMatcher = new RuleMatcher<>();
+		metrics = null;
+		matchers = ThreadLocal.withInitial(RuleMatcher::new);
+		variableSequences = new ConcurrentHashMap<>();
 		transform = new LinkedHashMap<>();
 		exceptions = new ArrayList<>();
 		conditions = new ArrayList<>();
@@ -90,11 +114,36 @@ public class BaseRule<T> implements Rule<T> {
 		this(rule, new VariableStore(), factory);
 	}
 
+	@Override
+	public Sequence<T> apply(Sequence<T> sequence) {
+		if (metrics == null) {
+			return Rule.super.apply(sequence);
+		}
+		RuleMatcher<T> ruleMatcher = matchers.get();
+		ruleMatcher.fired = false;
+		long start = System.nanoTime();
+		Sequence<T> output = Rule.super.apply(sequence);
+		metrics.addWord(ruleMatcher.fired, System.nanoTime() - start);
+		return output;
+	}
+
+	/**
+	 * @return the metrics of this rule, or {@code null} if they are not being
+	 * 		collected
+	 */
+	public RuleMetrics getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public int applyAtIndex(Sequence<T> sequence, int index) {
 		int startIndex = index;
 		boolean unmatched = true;
 		FeatureModel<T> model = factory.getFeatureMapping().getFeatureModel();
+		RuleMatcher<T> ruleMatcher = matchers.get();
+		if (metrics != null) {
+			metrics.addPosition();
+		}
 
 		// Check each source pattern
 		for (Entry<Sequence<T>, Sequence<T>> entry : transform.entrySet()) {
@@ -103,11 +152,14 @@ public class BaseRule<T> implements Rule<T> {
 
 			if (startIndex < sequence.size()) {
 				ruleMatcher.reset();
+				if (metrics != null) {
+					metrics.addSourceAttempt();
+				}
 
 				int testIndex = startIndex;
 
 				// Step through the current source pattern
-				testIndex = matchSource(sequence, source, testIndex);
+				testIndex = matchSource(ruleMatcher, sequence, source, testIndex);
 
 				// This is checked second for a good reason: it may not be
 				// possible to know the length of the matching initial until 
@@ -125,12 +177,17 @@ public class BaseRule<T> implements Rule<T> {
 						removed = new BasicSequence<>(model);
 					}
 					
-					Sequence<T> replacement = getReplacement(removed, target);
+					Sequence<T> replacement = getReplacement(ruleMatcher, removed,
+							target);
 					if (!replacement.isEmpty()) {
 						sequence.insert(replacement, startIndex);
 					}
 					startIndex = testIndex + replacement.size() - removed.size();
 					unmatched = false;
+					if (metrics != null) {
+						metrics.addFiring();
+						ruleMatcher.fired = true;
+					}
 				}
 			}
 		}
@@ -164,7 +221,8 @@ public class BaseRule<T> implements Rule<T> {
 		return sb.toString();
 	}
 
-	private int matchSource(Sequence<T> sequence,
+	private int matchSource(RuleMatcher<T> ruleMatcher,
+			Sequence<T> sequence,
 			Sequence<T> source,
 			int testIndex) {
 		int index = testIndex;
@@ -211,10 +269,17 @@ public class BaseRule<T> implements Rule<T> {
 	}
 
 	private List<Sequence<T>> getVariableSequences(String key) {
-		return variables.get(key)
-				.stream()
-				.map(factory::toSequence)
-				.collect(Collectors.toList());
+		List<Sequence<T>> sequences = variableSequences.get(key);
+		if (sequences == null) {
+			synchronized (factory) {
+				sequences = variableSequences.computeIfAbsent(key,
+						k -> Collections.unmodifiableList(variables.get(k)
+								.stream()
+								.map(factory::toSequence)
+								.collect(Collectors.toList())));
+			}
+		}
+		return sequences;
 	}
 
 	private void parseRule() {
@@ -308,7 +373,8 @@ public class BaseRule<T> implements Rule<T> {
 	 * @return a Sequence<T> object with variables and references filled in
 	 * according to the provided maps
 	 */
-	private Sequence<T> getReplacement(Sequence<T> source, Sequence<T> target) {
+	private Sequence<T> getReplacement(RuleMatcher<T> ruleMatcher,
+			Sequence<T> source, Sequence<T> target) {
 		int variableIndex = 1;
 		FeatureModel<T> featureModel = source.getFeatureModel();
 		Sequence<T> replacement = new BasicSequence<>(featureModel);
@@ -320,7 +386,8 @@ public class BaseRule<T> implements Rule<T> {
 			Match<String> matcher = BACKREF.match(symbol);
 
 			if (matcher.matches()) {
-				Sequence<T> sequence = getReference(featureModel, matcher);
+				Sequence<T> sequence = getReference(ruleMatcher, featureModel,
+						matcher);
 				replacement.add(sequence);
 			} else if (variables.contains(symbol)) {
 				// Allows C > G transformations, where C and G have the same
@@ -331,15 +398,16 @@ public class BaseRule<T> implements Rule<T> {
 				replacement.add(sequence);
 				variableIndex++;
 			} else if (isUnderspecified(segment)) {
-				// Underspecified - overwrite the feature
-				Segment<T> alter = new StandardSegment<>(source.get(i));
+				// Underspecified - overwrite the feature; source segments are
+				// pooled, so alter a deep copy
+				Segment<T> alter = SegmentPool.copy(source.get(i));
 				alter.alter(segment);
 				FeatureArray<T> features = alter.getFeatures();
 				FeatureMapping<T> mapping = factory.getFeatureMapping();
 				String bestSymbol = mapping.findBestSymbol(features);
 				Segment<T> newSegment =
 						new StandardSegment<>(bestSymbol, features);
-				replacement.add(newSegment);
+				replacement.add(pool.intern(newSegment));
 			} else if (!symbol.equals("0")) {
 				// Normal segment and not 0
 				replacement.add(segment);
@@ -350,8 +418,8 @@ public class BaseRule<T> implements Rule<T> {
 	}
 
 	// Referent?
-	private Sequence<T> getReference(FeatureModel<T> model,
-			Match<String> matcher) {
+	private Sequence<T> getReference(RuleMatcher<T> ruleMatcher,
+			FeatureModel<T> model, Match<String> matcher) {
 		String symbol = matcher.group(1);
 		String digits = matcher.group(2);
 
@@ -392,6 +460,9 @@ public class BaseRule<T> implements Rule<T> {
 		if (cI.hasNext()) {
 			while (cI.hasNext() && !conditionMatch) {
 				Condition<T> condition = cI.next();
+				if (metrics != null) {
+					metrics.addConditionEvaluation();
+				}
 				conditionMatch = condition.isMatch(word, start, end);
 			}
 		} else {
@@ -402,6 +473,9 @@ public class BaseRule<T> implements Rule<T> {
 		if (eI.hasNext()) {
 			while (eI.hasNext() && !exceptionMatch) {
 				Condition<T> exception = eI.next();
+				if (metrics != null) {
+					metrics.addConditionEvaluation();
+				}
 				exceptionMatch = exception.isMatch(word, start, end);
 			}
 		}
@@ -462,7 +536,9 @@ public class BaseRule<T> implements Rule<T> {
 		for (int i = 0; i < sourceList.size(); i++) {
 			// Also we need to correctly tokenize $1, $2 etc or $C1, $N2
 			Sequence<T> source = factory.toSequence(sourceList.get(i));
-			Sequence<T> target = factory.toSequence(targetList.get(i));
+			// Segments copied from the target into words are shared
+			Sequence<T> target = pool.intern(
+					factory.toSequence(targetList.get(i)));
 			validateTransform(source, target);
 			transform.put(source, target);
 		}
@@ -565,6 +641,10 @@ public class BaseRule<T> implements Rule<T> {
 		//   are tracked, rather than tracking explicit groups 
 		private int referenceIndex;
 
+		// Whether the rule has changed the current word; only tracked while
+		// metrics are collected
+		private boolean fired;
+
 		private RuleMatcher() {
 			referenceIndex = 1;
 			indexMap = new HashMap<>();
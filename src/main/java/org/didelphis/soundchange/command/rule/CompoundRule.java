@@ -12,6 +12,8 @@ import org.didelphis.language.phonetic.Lexicon;
 import org.didelphis.language.phonetic.sequences.BasicSequence;
 import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.event.ScriptEvent;
+import org.didelphis.soundchange.event.ScriptEvents;
 import org.didelphis.structures.contracts.Delegating;
 
 import java.util.List;
@@ -36,14 +38,29 @@ public class CompoundRule<T>
 
 	@Override
 	public void run() {
+		ScriptEvent event = ScriptEvents.rule();
+		long rows = 0;
+		long words = 0;
 		for (Lexicon<T> lexicon : lexicons.values()) {
 			for (List<Sequence<T>> row : lexicon) {
 				for (int i = 0; i < row.size(); i++) {
 					Sequence<T> word = apply(row.get(i));
 					row.set(i, word);
 				}
+				rows++;
+				words += row.size();
 			}
 		}
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.setRule(toString());
+			event.setRows(rows);
+			event.setWords(words);
+			event.commit();
+		}
 	}
 
 	@Override
@@ -0,0 +1,263 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.rule;
+
+import org.didelphis.soundchange.command.io.ScriptExecuteCommand;
+import org.didelphis.soundchange.command.io.ScriptImportCommand;
+import org.didelphis.utilities.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class {@code RuleMetrics}
+ *
+ * Counts the work done by a single rule, so that expensive rules can be found.
+ * Rules only hold metrics when {@link org.didelphis.soundchange.ScriptOptions
+ * #isCollectingMetrics()} is set; otherwise the cost to a rule is a single
+ * null check at each step. Counters may be updated from several threads at
+ * once.
+ *
+ * A {@link CompoundRule} holds no metrics of its own; each of its member
+ * rules is counted, and reported, separately.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public final class RuleMetrics implements RuleMetricsMBean {
+
+	private static final Logger LOG = Logger.create(RuleMetrics.class);
+	private static final String DOMAIN = "org.didelphis.soundchange";
+
+	private final String rule;
+	private final LongAdder positionsScanned;
+	private final LongAdder sourceAttempts;
+	private final LongAdder conditionEvaluations;
+	private final LongAdder firings;
+	private final LongAdder words;
+	private final LongAdder wordsChanged;
+	private final LongAdder nanos;
+
+	public RuleMetrics(String rule) {
+		this.rule = rule;
+		positionsScanned = new LongAdder();
+		sourceAttempts = new LongAdder();
+		conditionEvaluations = new LongAdder();
+		firings = new LongAdder();
+		words = new LongAdder();
+		wordsChanged = new LongAdder();
+		nanos = new LongAdder();
+	}
+
+	/**
+	 * Finds the metrics of every rule in the provided commands, including the
+	 * rules of imported and executed scripts, in the order the rules run
+	 *
+	 * @param commands the commands of a script
+	 *
+	 * @return the metrics of each rule which collects them
+	 */
+	public static List<RuleMetrics> collect(Iterable<Runnable> commands) {
+		List<RuleMetrics> list = new ArrayList<>();
+		collect(commands, list);
+		return list;
+	}
+
+	/**
+	 * Registers the provided metrics with the platform MBean server, under
+	 * {@code org.didelphis.soundchange:type=RuleMetrics}, with the script path
+	 * and the index of each rule as further keys. Metrics registered earlier
+	 * for the same script are replaced; callers should {@link
+	 * #unregister(String)} them once the script has run.
+	 *
+	 * @param script  the path of the script
+	 * @param metrics the metrics of its rules
+	 */
+	public static void register(String script, List<RuleMetrics> metrics) {
+		unregister(script);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		String prefix = prefix(script);
+		try {
+			for (int i = 0; i < metrics.size(); i++) {
+				ObjectName name = new ObjectName(prefix + ",index=" + i);
+				server.registerMBean(metrics.get(i), name);
+			}
+		} catch (JMException e) {
+			LOG.warn("Failed to register metrics for script {}", script, e);
+		}
+	}
+
+	/**
+	 * Removes any metrics registered for the provided script from the
+	 * platform MBean server
+	 *
+	 * @param script the path of the script
+	 */
+	public static void unregister(String script) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName pattern = new ObjectName(prefix(script) + ",*");
+			for (ObjectName name : server.queryNames(pattern, null)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			LOG.warn("Failed to unregister metrics for script {}", script, e);
+		}
+	}
+
+	/**
+	 * @param script  the path of the script
+	 * @param metrics the metrics of its rules
+	 *
+	 * @return a JSON object with the path of the script, and an array of the
+	 * 		counts of each rule
+	 */
+	public static String toJson(String script, List<RuleMetrics> metrics) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n  \"script\": ").append(quote(script));
+		sb.append(",\n  \"rules\": [");
+		for (int i = 0; i < metrics.size(); i++) {
+			RuleMetrics m = metrics.get(i);
+			sb.append(i == 0 ? "\n" : ",\n");
+			sb.append("    {\"rule\": ").append(quote(m.rule));
+			sb.append(", \"positionsScanned\": ").append(m.getPositionsScanned());
+			sb.append(", \"sourceAttempts\": ").append(m.getSourceAttempts());
+			sb.append(", \"conditionEvaluations\": ")
+					.append(m.getConditionEvaluations());
+			sb.append(", \"firings\": ").append(m.getFirings());
+			sb.append(", \"words\": ").append(m.getWords());
+			sb.append(", \"wordsChanged\": ").append(m.getWordsChanged());
+			sb.append(", \"nanos\": ").append(m.getNanos());
+			sb.append('}');
+		}
+		sb.append(metrics.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+		return sb.toString();
+	}
+
+	@Override
+	public String getRule() {
+		return rule;
+	}
+
+	@Override
+	public long getPositionsScanned() {
+		return positionsScanned.sum();
+	}
+
+	@Override
+	public long getSourceAttempts() {
+		return sourceAttempts.sum();
+	}
+
+	@Override
+	public long getConditionEvaluations() {
+		return conditionEvaluations.sum();
+	}
+
+	@Override
+	public long getFirings() {
+		return firings.sum();
+	}
+
+	@Override
+	public long getWords() {
+		return words.sum();
+	}
+
+	@Override
+	public long getWordsChanged() {
+		return wordsChanged.sum();
+	}
+
+	@Override
+	public long getNanos() {
+		return nanos.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "RuleMetrics{" + rule + ", firings=" + getFirings() +
+				", wordsChanged=" + getWordsChanged() + ", nanos=" +
+				getNanos() + '}';
+	}
+
+	void addPosition() {
+		positionsScanned.increment();
+	}
+
+	void addSourceAttempt() {
+		sourceAttempts.increment();
+	}
+
+	void addConditionEvaluation() {
+		conditionEvaluations.increment();
+	}
+
+	void addFiring() {
+		firings.increment();
+	}
+
+	void addWord(boolean changed, long time) {
+		words.increment();
+		if (changed) {
+			wordsChanged.increment();
+		}
+		nanos.add(time);
+	}
+
+	private static void collect(Iterable<?> commands, List<RuleMetrics> list) {
+		for (Object command : commands) {
+			if (command instanceof ScriptImportCommand) {
+				collect(((ScriptImportCommand) command).getCommands(), list);
+			} else if (command instanceof ScriptExecuteCommand) {
+				collect(((ScriptExecuteCommand<?>) command).getCommands(), list);
+			} else if (command instanceof CompoundRule) {
+				collect(((CompoundRule<?>) command).getDelegate(), list);
+			} else if (command instanceof StandardRule) {
+				add(((StandardRule<?>) command).getMetrics(), list);
+			} else if (command instanceof BaseRule) {
+				add(((BaseRule<?>) command).getMetrics(), list);
+			}
+		}
+	}
+
+	private static void add(RuleMetrics metrics, List<RuleMetrics> list) {
+		if (metrics != null) {
+			list.add(metrics);
+		}
+	}
+
+	private static String prefix(String script) {
+		return DOMAIN + ":type=RuleMetrics,script=" + ObjectName.quote(script);
+	}
+
+	private static String quote(String string) {
+		StringBuilder sb = new StringBuilder(string.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c == '\n') {
+				sb.append("\\n");
+			} else if (c == '\t') {
+				sb.append("\\t");
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
@@ -0,0 +1,62 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.rule;
+
+/**
+ * Interface {@code RuleMetricsMBean}
+ *
+ * The management interface of {@link RuleMetrics}, through which the counts
+ * of a running script can be read over JMX.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public interface RuleMetricsMBean {
+
+	/**
+	 * @return the text of the rule
+	 */
+	String getRule();
+
+	/**
+	 * @return the number of positions in words at which the rule was tried
+	 */
+	long getPositionsScanned();
+
+	/**
+	 * @return the number of times a source pattern was matched against a
+	 * 		position
+	 */
+	long getSourceAttempts();
+
+	/**
+	 * @return the number of conditions and exceptions evaluated after a
+	 * 		source pattern matched
+	 */
+	long getConditionEvaluations();
+
+	/**
+	 * @return the number of times the rule replaced part of a word
+	 */
+	long getFirings();
+
+	/**
+	 * @return the number of words the rule was applied to
+	 */
+	long getWords();
+
+	/**
+	 * @return the number of words the rule changed
+	 */
+	long getWordsChanged();
+
+	/**
+	 * @return the time spent applying the rule to whole words, in nanoseconds
+	 */
+	long getNanos();
+}
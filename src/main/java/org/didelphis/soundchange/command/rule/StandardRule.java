@@ -9,6 +9,8 @@ package org.didelphis.soundchange.command.rule;
 import org.didelphis.language.phonetic.Lexicon;
 import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.event.ScriptEvent;
+import org.didelphis.soundchange.event.ScriptEvents;
 import org.didelphis.soundchange.parser.ParserMemory;
 
 import java.util.List;
@@ -40,6 +42,9 @@ public class StandardRule<T> implements Rule<T> {
 
 	@Override
 	public void run() {
+		ScriptEvent event = ScriptEvents.rule();
+		long rows = 0;
+		long words = 0;
 		for (Lexicon<T> lexicon : lexicons.values()) {
 			for (List<Sequence<T>> row : lexicon) {
 				for (int i = 0; i < row.size(); i++) {
@@ -47,8 +52,28 @@ public class StandardRule<T> implements Rule<T> {
 					Sequence<T> word = apply(sequence);
 					row.set(i, word);
 				}
+				rows++;
+				words += row.size();
 			}
 		}
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.setRule(toString());
+			event.setRows(rows);
+			event.setWords(words);
+			event.commit();
+		}
+	}
+
+	/**
+	 * @return the metrics of this rule, or {@code null} if they are not being
+	 * 		collected
+	 */
+	public RuleMetrics getMetrics() {
+		return rule.getMetrics();
 	}
 
 	@Override
@@ -0,0 +1,66 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+/**
+ * Interface {@code EventFactory}
+ *
+ * Creates and begins the events of this package, or returns {@code null} if
+ * an event is not being recorded.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+interface EventFactory {
+
+	EventFactory NONE = new EventFactory() {
+		@Override
+		public ScriptEvent parseLine(String script, int line, String command) {
+			return null;
+		}
+
+		@Override
+		public ScriptEvent importScript(String script, String path) {
+			return null;
+		}
+
+		@Override
+		public ScriptEvent loadModel(String script, String path) {
+			return null;
+		}
+
+		@Override
+		public ScriptEvent lexicon(String operation, String handle,
+				String path) {
+			return null;
+		}
+
+		@Override
+		public ScriptEvent rule() {
+			return null;
+		}
+	};
+
+	ScriptEvent parseLine(String script, int line, String command);
+
+	ScriptEvent importScript(String script, String path);
+
+	ScriptEvent loadModel(String script, String path);
+
+	ScriptEvent lexicon(String operation, String handle, String path);
+
+	ScriptEvent rule();
+}
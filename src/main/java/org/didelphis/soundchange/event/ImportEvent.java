@@ -0,0 +1,62 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Class {@code ImportEvent}
+ *
+ * A Flight Recorder event for reading and parsing a script referenced by
+ * {@code IMPORT} or {@code EXECUTE}, or reusing an earlier parse of it.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@Name("org.didelphis.soundchange.Import")
+@Label("Import Script")
+@Description("Parsing of a script imported or executed by another")
+@Category({"Didelphis", "Sound Change", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+final class ImportEvent extends Event implements ScriptEvent {
+
+	@Label("Script")
+	private final String script;
+
+	@Label("Path")
+	private final String path;
+
+	@Label("Cached")
+	@Description("Whether an earlier parse of the script was reused")
+	private boolean cached;
+
+	ImportEvent(String script, String path) {
+		this.script = script;
+		this.path = path;
+	}
+
+	@Override
+	public void setCached(boolean cached) {
+		this.cached = cached;
+	}
+}
@@ -0,0 +1,95 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.EventType;
+
+/**
+ * Class {@code JfrEventFactory}
+ *
+ * Creates Flight Recorder events. This is the only class, apart from the
+ * events themselves, which refers to {@code jdk.jfr}, and it is only loaded by
+ * {@link ScriptEvents} once the API is known to be present.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class JfrEventFactory implements EventFactory {
+
+	private final EventType parseLine;
+	private final EventType importScript;
+	private final EventType loadModel;
+	private final EventType lexicon;
+	private final EventType rule;
+
+	JfrEventFactory() {
+		parseLine = EventType.getEventType(ParseLineEvent.class);
+		importScript = EventType.getEventType(ImportEvent.class);
+		loadModel = EventType.getEventType(ModelLoadEvent.class);
+		lexicon = EventType.getEventType(LexiconEvent.class);
+		rule = EventType.getEventType(RuleEvent.class);
+	}
+
+	@Override
+	public ScriptEvent parseLine(String script, int line, String command) {
+		if (!parseLine.isEnabled()) {
+			return null;
+		}
+		ParseLineEvent event = new ParseLineEvent(script, line, command);
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public ScriptEvent importScript(String script, String path) {
+		if (!importScript.isEnabled()) {
+			return null;
+		}
+		ImportEvent event = new ImportEvent(script, path);
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public ScriptEvent loadModel(String script, String path) {
+		if (!loadModel.isEnabled()) {
+			return null;
+		}
+		ModelLoadEvent event = new ModelLoadEvent(script, path);
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public ScriptEvent lexicon(String operation, String handle, String path) {
+		if (!lexicon.isEnabled()) {
+			return null;
+		}
+		LexiconEvent event = new LexiconEvent(operation, handle, path);
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public ScriptEvent rule() {
+		if (!rule.isEnabled()) {
+			return null;
+		}
+		RuleEvent event = new RuleEvent();
+		event.begin();
+		return event;
+	}
+}
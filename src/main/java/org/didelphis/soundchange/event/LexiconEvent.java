@@ -0,0 +1,85 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Class {@code LexiconEvent}
+ *
+ * A Flight Recorder event for an {@code OPEN}, {@code WRITE}, or {@code
+ * CLOSE} of a lexicon, or for a lexicon which is streamed through the rules
+ * of a script ({@code STREAM}). A {@code WRITE} is recorded when its output
+ * is written in the background, rather than when the command runs.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@Name("org.didelphis.soundchange.Lexicon")
+@Label("Lexicon I/O")
+@Description("Reading or writing of a lexicon")
+@Category({"Didelphis", "Sound Change", "Lexicon"})
+@Enabled(false)
+@StackTrace(false)
+final class LexiconEvent extends Event implements ScriptEvent {
+
+	@Label("Operation")
+	private final String operation;
+
+	@Label("Handle")
+	private final String handle;
+
+	@Label("Path")
+	private final String path;
+
+	@Label("Rows")
+	private long rows;
+
+	@Label("Size")
+	@Description("The size of the file, or -1 if it is not on disk")
+	@DataAmount
+	private long bytes;
+
+	/**
+	 * @param operation the command, one of {@code OPEN}, {@code WRITE},
+	 *                  {@code CLOSE}, or {@code STREAM}
+	 * @param handle    the handle of the lexicon
+	 * @param path      the path of the file read or written
+	 */
+	LexiconEvent(String operation, String handle, String path) {
+		this.operation = operation;
+		this.handle = handle;
+		this.path = path;
+		bytes = -1;
+	}
+
+	@Override
+	public void setRows(long rows) {
+		this.rows = rows;
+	}
+
+	@Override
+	public void setBytes(long bytes) {
+		this.bytes = bytes;
+	}
+}
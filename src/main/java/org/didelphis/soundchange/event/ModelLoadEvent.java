@@ -0,0 +1,53 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Class {@code ModelLoadEvent}
+ *
+ * A Flight Recorder event for loading the feature model named by a {@code
+ * LOAD} command.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@Name("org.didelphis.soundchange.ModelLoad")
+@Label("Load Feature Model")
+@Description("Loading of a feature model")
+@Category({"Didelphis", "Sound Change", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+final class ModelLoadEvent extends Event implements ScriptEvent {
+
+	@Label("Script")
+	private final String script;
+
+	@Label("Path")
+	private final String path;
+
+	ModelLoadEvent(String script, String path) {
+		this.script = script;
+		this.path = path;
+	}
+}
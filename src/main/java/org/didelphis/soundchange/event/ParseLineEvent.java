@@ -0,0 +1,61 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Class {@code ParseLineEvent}
+ *
+ * A Flight Recorder event for parsing a single command of a script. A command
+ * which spans several lines is recorded once, with its first line; the time
+ * of an {@code IMPORT} or {@code EXECUTE} includes parsing the nested script.
+ *
+ * Like the other events of this package, it is disabled unless enabled in the
+ * recording settings, and is only created through {@link ScriptEvents}.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@Name("org.didelphis.soundchange.ParseLine")
+@Label("Parse Line")
+@Description("Parsing of a single command of a script")
+@Category({"Didelphis", "Sound Change", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+final class ParseLineEvent extends Event implements ScriptEvent {
+
+	@Label("Script")
+	private final String script;
+
+	@Label("Line")
+	private final int line;
+
+	@Label("Command")
+	private final String command;
+
+	ParseLineEvent(String script, int line, String command) {
+		this.script = script;
+		this.line = line;
+		this.command = command;
+	}
+}
@@ -0,0 +1,66 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Class {@code RuleEvent}
+ *
+ * A Flight Recorder event for one pass of a rule over the open lexicons. When
+ * a lexicon is streamed, each chunk is recorded separately.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@Name("org.didelphis.soundchange.Rule")
+@Label("Rule")
+@Description("Application of a rule to every word of the open lexicons")
+@Category({"Didelphis", "Sound Change", "Rules"})
+@Enabled(false)
+@StackTrace(false)
+final class RuleEvent extends Event implements ScriptEvent {
+
+	@Label("Rule")
+	private String rule;
+
+	@Label("Rows")
+	private long rows;
+
+	@Label("Words")
+	private long words;
+
+	@Override
+	public void setRule(String rule) {
+		this.rule = rule;
+	}
+
+	@Override
+	public void setRows(long rows) {
+		this.rows = rows;
+	}
+
+	@Override
+	public void setWords(long words) {
+		this.words = words;
+	}
+}
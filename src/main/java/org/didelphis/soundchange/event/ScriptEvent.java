@@ -0,0 +1,61 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+/**
+ * Interface {@code ScriptEvent}
+ *
+ * A Flight Recorder event which has begun, as returned by {@link
+ * ScriptEvents}. Values which are costly to compute should only be set once
+ * {@link #shouldCommit()} has returned true. Setters for values an event does
+ * not record have no effect.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+public interface ScriptEvent {
+
+	/**
+	 * Ends the timing of the event
+	 */
+	void end();
+
+	/**
+	 * @return true if the event is being recorded and meets the recording's
+	 * 		thresholds
+	 */
+	boolean shouldCommit();
+
+	/**
+	 * Ends the event, if it has not ended, and records it
+	 */
+	void commit();
+
+	default void setRows(long rows) {
+	}
+
+	default void setBytes(long bytes) {
+	}
+
+	default void setWords(long words) {
+	}
+
+	default void setRule(String rule) {
+	}
+
+	default void setCached(boolean cached) {
+	}
+}
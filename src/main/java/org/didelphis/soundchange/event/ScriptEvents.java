@@ -0,0 +1,114 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.UtilityClass;
+import org.didelphis.utilities.Logger;
+
+/**
+ * Class {@code ScriptEvents}
+ *
+ * Begins the Flight Recorder events emitted while scripts are parsed and run.
+ * Whether {@code jdk.jfr} is present is checked once; if it is not, as on Java
+ * 8 before update 262, every method returns {@code null}. Otherwise, an event
+ * is only created if it is enabled in a running recording, so that nothing is
+ * allocated when nothing is recorded. Callers must therefore check the result
+ * for {@code null}.
+ *
+ * The events are disabled by default, and are named {@code
+ * org.didelphis.soundchange.ParseLine}, {@code .Import}, {@code .ModelLoad},
+ * {@code .Lexicon}, and {@code .Rule}.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@UtilityClass
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ScriptEvents {
+
+	Logger LOG = Logger.create(ScriptEvents.class);
+
+	EventFactory FACTORY = loadFactory();
+
+	/**
+	 * @param script  the path of the script being parsed
+	 * @param line    the line number of the command
+	 * @param command the text of the command
+	 *
+	 * @return an event for parsing a single command
+	 */
+	public ScriptEvent parseLine(String script, int line, String command) {
+		return FACTORY.parseLine(script, line, command);
+	}
+
+	/**
+	 * @param script the path of the script containing the reference
+	 * @param path   the path of the imported or executed script
+	 *
+	 * @return an event for parsing a nested script
+	 */
+	public ScriptEvent importScript(String script, String path) {
+		return FACTORY.importScript(script, path);
+	}
+
+	/**
+	 * @param script the path of the script containing the {@code LOAD}
+	 * @param path   the path of the feature model
+	 *
+	 * @return an event for loading a feature model
+	 */
+	public ScriptEvent loadModel(String script, String path) {
+		return FACTORY.loadModel(script, path);
+	}
+
+	/**
+	 * @param operation one of {@code OPEN}, {@code WRITE}, {@code CLOSE}, or
+	 *                  {@code STREAM}
+	 * @param handle    the handle of the lexicon
+	 * @param path      the path of the file read or written
+	 *
+	 * @return an event for reading or writing a lexicon
+	 */
+	public ScriptEvent lexicon(String operation, String handle, String path) {
+		return FACTORY.lexicon(operation, handle, path);
+	}
+
+	/**
+	 * @return an event for one pass of a rule over the open lexicons
+	 */
+	public ScriptEvent rule() {
+		return FACTORY.rule();
+	}
+
+	private EventFactory loadFactory() {
+		try {
+			Class.forName("jdk.jfr.Event");
+		} catch (ClassNotFoundException e) {
+			LOG.info("Flight Recorder is not available; events are disabled");
+			return EventFactory.NONE;
+		}
+		try {
+			String name = ScriptEvents.class.getPackage().getName() +
+					".JfrEventFactory";
+			return (EventFactory) Class.forName(name).newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			LOG.warn("Flight Recorder events could not be created", e);
+			return EventFactory.NONE;
+		}
+	}
+}
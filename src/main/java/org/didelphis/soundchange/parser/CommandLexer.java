@@ -0,0 +1,180 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This program is free software: you can redistribute it and/or modify       *
+ * it under the terms of the GNU General Public License as published by       *
+ * the Free Software Foundation, either version 3 of the License, or          *
+ * (at your option) any later version.                                        *
+ *                                                                            *
+ * This program is distributed in the hope that it will be useful,            *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of             *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the              *
+ * GNU General Public License for more details.                               *
+ *                                                                            *
+ * You should have received a copy of the GNU General Public License          *
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.      *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.parser;
+
+import lombok.experimental.UtilityClass;
+
+import static org.didelphis.soundchange.parser.ParserTerms.*;
+
+/**
+ * Class {@code CommandLexer}
+ *
+ * Classifies script lines by scanning each one once, rather than testing it
+ * against the patterns in {@link ParserTerms} in turn. The patterns are still
+ * used to extract the arguments of a command once its kind is known, and to
+ * confirm the rare cases which cannot be decided from a single scan.
+ *
+ * The classification is equivalent to testing, in order, {@code LOAD}, {@code
+ * EXECUTE}, {@code IMPORT}, {@code OPEN}, {@code WRITE}, {@code CLOSE}, a
+ * variable definition, a rule, {@code MODE}, {@code RESERVE}, and {@code
+ * BREAK}.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@UtilityClass
+class CommandLexer {
+
+	enum Kind {
+		LOAD, EXECUTE, IMPORT, OPEN, WRITE, CLOSE,
+		VARIABLE, RULE, MODE, RESERVE, BREAK, UNKNOWN
+	}
+
+	/**
+	 * Removes a comment, i.e. everything from the first {@code %}, from the
+	 * provided line
+	 *
+	 * @param line a single line of a script
+	 *
+	 * @return the line without its comment; not trimmed
+	 */
+	String stripComment(String line) {
+		int index = line.indexOf('%');
+		return index < 0 ? line : line.substring(0, index);
+	}
+
+	/**
+	 * @param command a non-empty, trimmed line with no comment
+	 *
+	 * @return the kind of command the line contains
+	 */
+	Kind classify(String command) {
+		Kind keyword = keyword(command);
+		switch (keyword) {
+			case LOAD:
+			case EXECUTE:
+			case IMPORT:
+				return keyword;
+			case OPEN:
+				if (OPEN.matches(command)) {
+					return keyword;
+				}
+				break;
+			case WRITE:
+				if (WRITE.matches(command)) {
+					return keyword;
+				}
+				break;
+			case CLOSE:
+				if (CLOSE.matches(command)) {
+					return keyword;
+				}
+				break;
+			default:
+				break;
+		}
+		if (command.indexOf('=') >= 0) {
+			return Kind.VARIABLE;
+		}
+		if (isRule(command)) {
+			return Kind.RULE;
+		}
+		if (keyword == Kind.MODE || keyword == Kind.RESERVE) {
+			return keyword;
+		}
+		if (command.regionMatches(true, 0, "BREAK", 0, 5)) {
+			return Kind.BREAK;
+		}
+		return Kind.UNKNOWN;
+	}
+
+	/**
+	 * Identifies a leading keyword followed by whitespace
+	 */
+	private Kind keyword(String command) {
+		int end = 0;
+		while (end < command.length() && Character.isLetter(command.charAt(end))) {
+			end++;
+		}
+		if (end == command.length() ||
+				!Character.isWhitespace(command.charAt(end))) {
+			return Kind.UNKNOWN;
+		}
+		switch (end) {
+			case 4:
+				if (command.regionMatches(true, 0, "LOAD", 0, 4)) {
+					return Kind.LOAD;
+				}
+				if (command.regionMatches(true, 0, "OPEN", 0, 4)) {
+					return Kind.OPEN;
+				}
+				if (command.regionMatches(true, 0, "MODE", 0, 4)) {
+					return Kind.MODE;
+				}
+				return Kind.UNKNOWN;
+			case 5:
+				if (command.regionMatches(true, 0, "WRITE", 0, 5)) {
+					return Kind.WRITE;
+				}
+				if (command.regionMatches(true, 0, "CLOSE", 0, 5)) {
+					return Kind.CLOSE;
+				}
+				return Kind.UNKNOWN;
+			case 6:
+				return command.regionMatches(true, 0, "IMPORT", 0, 6)
+						? Kind.IMPORT
+						: Kind.UNKNOWN;
+			case 7:
+				if (command.regionMatches(true, 0, "EXECUTE", 0, 7)) {
+					return Kind.EXECUTE;
+				}
+				if (command.regionMatches(true, 0, "RESERVE", 0, 7)) {
+					return Kind.RESERVE;
+				}
+				return Kind.UNKNOWN;
+			default:
+				return Kind.UNKNOWN;
+		}
+	}
+
+	/**
+	 * Finds the first {@code >} outside of brackets and checks that it is
+	 * preceded by whitespace and at least one other character. Lines which
+	 * contain {@code >} but fail this check are confirmed with {@link
+	 * ParserTerms#RULE}.
+	 */
+	private boolean isRule(String command) {
+		int length = command.length();
+		for (int i = 0; i < length; i++) {
+			char c = command.charAt(i);
+			if (c == '[') {
+				int close = command.indexOf(']', i + 1);
+				if (close > i + 1) {
+					i = close;
+				}
+			} else if (c == '>') {
+				if (i >= 2 && Character.isWhitespace(command.charAt(i - 1))) {
+					return true;
+				}
+				break;
+			}
+		}
+		return command.indexOf('>') >= 0 && RULE.matches(command);
+	}
+}
@@ -0,0 +1,118 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This program is free software: you can redistribute it and/or modify       *
+ * it under the terms of the GNU General Public License as published by       *
+ * the Free Software Foundation, either version 3 of the License, or          *
+ * (at your option) any later version.                                        *
+ *                                                                            *
+ * This program is distributed in the hope that it will be useful,            *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of             *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the              *
+ * GNU General Public License for more details.                               *
+ *                                                                            *
+ * You should have received a copy of the GNU General Public License          *
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.      *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.parser;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.UtilityClass;
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.language.phonetic.model.FeatureModelLoader;
+import org.didelphis.soundchange.ScriptCache;
+import org.didelphis.utilities.Logger;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class {@code FeatureModelCache}
+ *
+ * A process-wide cache of loaded feature models, shared by every {@link
+ * ScriptParser} in the JVM. Entries are keyed by feature type and path, and
+ * are reused only while the digest of the model file is unchanged.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+@UtilityClass
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class FeatureModelCache {
+
+	Logger LOG = Logger.create(FeatureModelCache.class);
+	double MILLI = 1.0E-6;
+
+	Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the feature mapping stored at the provided path, loading it only
+	 * if it has not already been loaded or if the file has changed since.
+	 *
+	 * @param type    the feature type of the model
+	 * @param handler the handler used to read the model
+	 * @param path    the resolved path of the model
+	 * @param <T>     the feature type
+	 *
+	 * @return the loaded feature mapping
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> FeatureMapping<T> load(
+			FeatureType<T> type,
+			FileHandler handler,
+			String path
+	) {
+		String key = type.getClass().getName() + ':' + path;
+		String digest;
+		try {
+			digest = ScriptCache.digest(handler.read(path));
+		} catch (IOException e) {
+			// Let the loader report the failure
+			digest = null;
+		}
+
+		Entry entry = CACHE.get(key);
+		if (digest != null && entry != null && digest.equals(entry.digest)) {
+			LOG.info("Reusing feature model {}", path);
+			return (FeatureMapping<T>) entry.mapping;
+		}
+
+		long start = System.nanoTime();
+		FeatureModelLoader<T> loader = new FeatureModelLoader<>(
+				type,
+				handler,
+				path
+		);
+		FeatureMapping<T> mapping = loader.getFeatureMapping();
+		double time = (System.nanoTime() - start) * MILLI;
+		LOG.info("Loaded feature model {} in {} ms", path, time);
+
+		if (digest != null) {
+			CACHE.put(key, new Entry(digest, mapping));
+		}
+		return mapping;
+	}
+
+	/**
+	 * Removes all cached models
+	 */
+	public void clear() {
+		CACHE.clear();
+	}
+
+	private static final class Entry {
+		private final String digest;
+		private final FeatureMapping<?> mapping;
+
+		private Entry(String digest, FeatureMapping<?> mapping) {
+			this.digest = digest;
+			this.mapping = mapping;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This program is free software: you can redistribute it and/or modify       *
+ * it under the terms of the GNU General Public License as published by       *
+ * the Free Software Foundation, either version 3 of the License, or          *
+ * (at your option) any later version.                                        *
+ *                                                                            *
+ * This program is distributed in the hope that it will be useful,            *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of             *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the              *
+ * GNU General Public License for more details.                               *
+ *                                                                            *
+ * You should have received a copy of the GNU General Public License          *
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.      *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.parser;
+
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.soundchange.ScriptCache;
+import org.didelphis.soundchange.VariableStore;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Class {@code ImportCache}
+ *
+ * Shared by a {@link ScriptParser} and every parser it creates for {@code
+ * IMPORT} and {@code EXECUTE} commands. It records the result of parsing each
+ * nested script against the parser state it inherited, so that a script which
+ * is referenced repeatedly with the same state is only parsed once. It also
+ * tracks the chain of scripts currently being parsed, in order to detect
+ * circular references.
+ *
+ * Results are not shared between top-level scripts, because compiled commands
+ * are bound to the lexicons of the script which created them.
+ *
+ * @author Samantha Fiona McCabe
+ * @date 2026-10-19
+ * @since 0.3.2
+ */
+final class ImportCache<T> {
+
+	private final Map<Key, Result<T>> results;
+	private final Deque<String> stack;
+
+	ImportCache() {
+		results = new HashMap<>();
+		stack = new ArrayDeque<>();
+	}
+
+	/**
+	 * Marks the start of parsing for the provided script
+	 *
+	 * @param path the path of the nested script
+	 *
+	 * @return false if the script is already being parsed, i.e. it references
+	 * 		itself directly or indirectly
+	 */
+	boolean enter(String path) {
+		if (stack.contains(path)) {
+			return false;
+		}
+		stack.push(path);
+		return true;
+	}
+
+	void exit(String path) {
+		stack.remove(path);
+	}
+
+	/**
+	 * @return the paths of the scripts currently being parsed, outermost first
+	 */
+	Collection<String> getChain() {
+		Deque<String> chain = new ArrayDeque<>();
+		stack.forEach(chain::push);
+		return chain;
+	}
+
+	Result<T> get(String path, String data, ParserMemory<T> memory) {
+		return results.get(new Key(path, data, memory));
+	}
+
+	void put(String path, String data, ParserMemory<T> memory,
+			Result<T> result) {
+		results.put(new Key(path, data, memory), result);
+	}
+
+	/**
+	 * The output of parsing a nested script: its commands, the paths it
+	 * references, and the state of the parser after it was parsed
+	 */
+	static final class Result<T> {
+
+		private final Queue<Runnable> commands;
+		private final List<String> source;
+		private final Collection<String> paths;
+		private final Collection<String> dependencies;
+		private final Collection<String> outputs;
+		private final ParserMemory<T> memory;
+
+		Result(ScriptParser<T> parser) {
+			commands = parser.getCommands();
+			source = parser.getSource();
+			paths = parser.getPaths();
+			dependencies = parser.getDependencies();
+			outputs = parser.getOutputs();
+			memory = new ParserMemory<>(parser.getMemory());
+		}
+
+		Queue<Runnable> getCommands() {
+			return commands;
+		}
+
+		List<String> getSource() {
+			return source;
+		}
+
+		Collection<String> getPaths() {
+			return paths;
+		}
+
+		Collection<String> getDependencies() {
+			return dependencies;
+		}
+
+		Collection<String> getOutputs() {
+			return outputs;
+		}
+
+		/**
+		 * Applies the changes the nested script made to the parser state, as
+		 * if it had been parsed again
+		 *
+		 * @param target the memory of the parser importing the script
+		 */
+		void restore(ParserMemory<T> target) {
+			target.getVariables().addAll(memory.getVariables());
+			target.getReserved().addAll(memory.getReserved());
+			target.setFormatterMode(memory.getFormatterMode());
+			target.setFeatureMapping(memory.getFeatureMapping());
+		}
+	}
+
+	private static final class Key {
+
+		private final String path;
+		private final String digest;
+		private final FormatterMode mode;
+		private final FeatureMapping<?> mapping;
+		private final Set<String> reserved;
+		private final Map<String, List<String>> variables;
+
+		private Key(String path, String data, ParserMemory<?> memory) {
+			this.path = path;
+			digest = ScriptCache.digest(data);
+			mode = memory.getFormatterMode();
+			mapping = memory.getFeatureMapping();
+			reserved = new TreeSet<>(memory.getReserved());
+			variables = new TreeMap<>();
+			VariableStore store = memory.getVariables();
+			for (String key : store.getKeys()) {
+				variables.put(key, store.get(key));
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			// Models are compared by identity; they are shared between
+			// parsers via FeatureModelCache
+			return mapping == key.mapping
+					&& mode == key.mode
+					&& path.equals(key.path)
+					&& digest.equals(key.digest)
+					&& reserved.equals(key.reserved)
+					&& variables.equals(key.variables);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(path, digest, mode, reserved, variables)
+					+ 31 * System.identityHashCode(mapping);
+		}
+	}
+}
@@ -24,10 +24,12 @@ import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.model.FeatureMapping;
 import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.ScriptOptions;
 import org.didelphis.soundchange.VariableStore;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * @author Samantha Fiona McCabe
@@ -38,13 +40,20 @@ public class ParserMemory<T> {
 	private final LexiconMap<T> lexicons;
 	private final VariableStore variables;
 	private final Set<String> reserved;
+	private final ScriptOptions options;
 
 	private FormatterMode formatterMode;
 	private FeatureMapping<T> featureMapping;
 
 	public ParserMemory(FeatureType<T> type) {
+		this(type, new ScriptOptions());
+	}
+
+	public ParserMemory(FeatureType<T> type, ScriptOptions options) {
+		this.options = options;
 		lexicons = new LexiconMap<>();
 		variables = new VariableStore(FormatterMode.NONE);
+		variables.setExpansionLimit(options.getExpansionLimit());
 		reserved = new HashSet<>();
 		formatterMode = FormatterMode.NONE;
 		FeatureModelLoader<T> loader = new FeatureModelLoader<>(
@@ -59,14 +68,26 @@ public class ParserMemory<T> {
 		lexicons = new LexiconMap<>(memory.lexicons);
 		variables = new VariableStore(memory.getVariables());
 		reserved = new HashSet<>(memory.reserved);
+		options = memory.options;
 		formatterMode = memory.formatterMode;
 		featureMapping = memory.featureMapping;
 	}
 
 	public SequenceFactory<T> factorySnapshot() {
-		HashSet<String> set = new HashSet<>(reserved);
+		return factorySupplier().get();
+	}
+
+	/**
+	 * @return a supplier of new factories, each equal to the one {@link
+	 * 		#factorySnapshot()} returns now, for code which needs a factory per
+	 * 		thread; later changes to this memory do not affect them
+	 */
+	public Supplier<SequenceFactory<T>> factorySupplier() {
+		Set<String> set = new HashSet<>(reserved);
 		set.addAll(variables.getKeys());
-		return new SequenceFactory<>(featureMapping, set, formatterMode);
+		FeatureMapping<T> mapping = featureMapping;
+		FormatterMode mode = formatterMode;
+		return () -> new SequenceFactory<>(mapping, new HashSet<>(set), mode);
 	}
 
 	public LexiconMap<T> getLexicons() {
@@ -81,6 +102,10 @@ public class ParserMemory<T> {
 		return reserved;
 	}
 
+	public ScriptOptions getOptions() {
+		return options;
+	}
+
 	public FormatterMode getFormatterMode() {
 		return formatterMode;
 	}
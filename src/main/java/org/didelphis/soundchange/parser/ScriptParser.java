@@ -27,25 +27,30 @@ import org.didelphis.language.parsing.ParseException;
 import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.model.FeatureMapping;
-import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.soundchange.ErrorLogger;
+import org.didelphis.soundchange.ScriptOptions;
 import org.didelphis.soundchange.command.io.LexiconCloseCommand;
 import org.didelphis.soundchange.command.io.LexiconOpenCommand;
 import org.didelphis.soundchange.command.io.LexiconWriteCommand;
 import org.didelphis.soundchange.command.io.ScriptExecuteCommand;
 import org.didelphis.soundchange.command.io.ScriptImportCommand;
 import org.didelphis.soundchange.command.rule.StandardRule;
+import org.didelphis.soundchange.event.ScriptEvent;
+import org.didelphis.soundchange.event.ScriptEvents;
 import org.didelphis.utilities.Splitter;
 import org.didelphis.utilities.Templates;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.function.Supplier;
 
 import static org.didelphis.soundchange.parser.ParserTerms.*;
 
@@ -62,8 +67,13 @@ public class ScriptParser<T> {
 	final FileHandler fileHandler;
 	final ErrorLogger logger;
 	final Collection<String> paths;
+	final Collection<String> dependencies;
+	final Collection<String> outputs;
 	final Queue<Runnable> commands;
+	final List<String> source;
 	final ParserMemory<T> memory;
+	final ImportCache<T> imports;
+	final boolean resolved;
 	int lineNumber;
 
 	public ScriptParser(
@@ -72,13 +82,27 @@ public class ScriptParser<T> {
 			String scriptData,
 			FileHandler fileHandler,
 			ErrorLogger logger
+	) {
+		this(scriptPath, type, scriptData, fileHandler, logger,
+				new ScriptOptions());
+	}
+
+	public ScriptParser(
+			String scriptPath,
+			FeatureType<T> type,
+			String scriptData,
+			FileHandler fileHandler,
+			ErrorLogger logger,
+			ScriptOptions options
 	) {
 		this(scriptPath,
 				type,
 				scriptData,
 				fileHandler,
 				logger,
-				new ParserMemory<>(type)
+				new ParserMemory<>(type, options),
+				new ImportCache<>(),
+				false
 		);
 	}
 
@@ -88,7 +112,9 @@ public class ScriptParser<T> {
 			String scriptData,
 			FileHandler fileHandler,
 			ErrorLogger logger,
-			ParserMemory<T> memory
+			ParserMemory<T> memory,
+			ImportCache<T> imports,
+			boolean resolved
 	) {
 
 		this.scriptPath = scriptPath;
@@ -97,15 +123,86 @@ public class ScriptParser<T> {
 		this.fileHandler = fileHandler;
 		this.logger = logger;
 		this.memory = memory;
+		this.imports = imports;
+		this.resolved = resolved;
 
 		commands = new ArrayDeque<>();
+		source = new ArrayList<>();
 		paths = new HashSet<>();
+		dependencies = new LinkedHashSet<>();
+		outputs = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Creates a parser for the source of a script as returned by {@link
+	 * #getSource()}, in which every path has already been resolved
+	 *
+	 * @param scriptPath the path of the original script
+	 * @param type       the feature type used to compile the script
+	 * @param source     the source of the script
+	 * @param fileHandler the file handler used to read models and executed
+	 *                   scripts
+	 * @param logger     the error logger used during compilation
+	 * @param options    the options used to compile and run the script
+	 * @param <T>        the feature type
+	 *
+	 * @return a new parser, which has not yet parsed the source
+	 */
+	public static <T> ScriptParser<T> fromSource(
+			String scriptPath,
+			FeatureType<T> type,
+			List<String> source,
+			FileHandler fileHandler,
+			ErrorLogger logger,
+			ScriptOptions options
+	) {
+		// Blank lines keep each command from continuing into the next
+		return new ScriptParser<>(scriptPath, type, String.join("\n\n", source),
+				fileHandler, logger, new ParserMemory<>(type, options),
+				new ImportCache<>(), true);
 	}
 
 	public Collection<String> getPaths() {
 		return paths;
 	}
 
+	/**
+	 * Returns the script as it was parsed, one command per entry: each {@code
+	 * IMPORT} is replaced by the source of the imported script, every path is
+	 * resolved against the script containing it, and comments and blank lines
+	 * are dropped. Parsing it with {@link #fromSource} gives the same commands
+	 * without reading any imported script.
+	 *
+	 * @return the commands of the script as text, in order
+	 */
+	public List<String> getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns the paths of every file which was read in order to compile this
+	 * script, i.e. those referenced by {@code LOAD}, {@code IMPORT}, or
+	 * {@code EXECUTE}, including those of nested scripts. Unlike {@link
+	 * #getPaths()}, this excludes lexicons, which are only read or written
+	 * when the script is run.
+	 *
+	 * @return a collection of paths in the order they were first encountered
+	 */
+	public Collection<String> getDependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * Returns the paths of every lexicon written by {@code WRITE} or {@code
+	 * CLOSE}, including those of nested scripts. These are also included in
+	 * {@link #getPaths()}.
+	 *
+	 * @return a collection of paths in the order they were first encountered
+	 */
+	public Collection<String> getOutputs() {
+		return outputs;
+	}
+
 	@Override
 	public String toString() {
 		return "ScriptParser{scriptPath='" + scriptPath + "'}";
@@ -122,14 +219,19 @@ public class ScriptParser<T> {
 		List<String> lines = Splitter.lines(scriptData);
 		for (; lineNumber < lines.size(); lineNumber++) {
 			String string = lines.get(lineNumber);
-			String command = COMMENT.replace(string, "").trim();
+			String command = CommandLexer.stripComment(string).trim();
 			if (!command.isEmpty()) {
 				int errorLine = lineNumber + 1;
+				ScriptEvent event =
+						ScriptEvents.parseLine(scriptPath, errorLine, command);
 				try {
 					parseCommand(lines, command);
 				} catch (ParseException e) {
 					logger.add(scriptPath, errorLine, "", e.getMessage());
 				}
+				if (event != null) {
+					event.commit();
+				}
 			}
 		}
 
@@ -160,56 +262,77 @@ public class ScriptParser<T> {
 
 	private void parseCommand(List<String> lines, String command) {
 		FormatterMode formatterMode = memory.getFormatterMode();
-		if (LOAD.matches(command)) {
-			FeatureMapping<T> featureModel = loadModel(
-					scriptPath,
-					command,
-					fileHandler
-			);
-			memory.setFeatureMapping(featureModel);
-		} else if (EXECUTE.matches(command)) {
-			executeScript(scriptPath, command);
-		} else if (IMPORT.matches(command)) {
-			importScript(scriptPath, command);
-		} else if (OPEN.matches(command)) {
-			openLexicon(scriptPath, command, memory.factorySnapshot());
-		} else if (WRITE.matches(command)) {
-			writeLexicon(scriptPath, command, formatterMode);
-		} else if (CLOSE.matches(command)) {
-			closeLexicon(scriptPath, command, formatterMode);
-		} else if (command.contains("=")) {
-			StringBuilder sb = new StringBuilder(command);
-			String next = nextLine(lines);
-			while ((next != null) && VAR_NEXT_LINE.matches(next) &&
-					!matchesOr(next, BREAK, COMPOUND, MODE)) {
-				sb.append('\n');
-				sb.append(next);
-				lineNumber++;
-				next = nextLine(lines);
+		switch (CommandLexer.classify(command)) {
+			case LOAD: {
+				FeatureMapping<T> featureModel = loadModel(
+						scriptPath,
+						command,
+						fileHandler
+				);
+				memory.setFeatureMapping(featureModel);
+				break;
 			}
-			memory.getVariables().add(sb.toString());
-		} else if (RULE.matches(command)) {
-			StringBuilder sb = new StringBuilder(command);
-			String next = nextLine(lines);
-			while ((next != null) && CONTINUATION.matches(next)) {
-				sb.append('\n');
-				sb.append(next);
-				lineNumber++;
-				next = nextLine(lines);
+			case EXECUTE:
+				executeScript(scriptPath, command);
+				break;
+			case IMPORT:
+				importScript(scriptPath, command);
+				break;
+			case OPEN:
+				openLexicon(scriptPath, command, memory.factorySupplier());
+				break;
+			case WRITE:
+				writeLexicon(scriptPath, command, formatterMode);
+				break;
+			case CLOSE:
+				closeLexicon(scriptPath, command, formatterMode);
+				break;
+			case VARIABLE: {
+				StringBuilder sb = new StringBuilder(command);
+				String next = nextLine(lines);
+				while ((next != null) && VAR_NEXT_LINE.matches(next) &&
+						!matchesOr(next, BREAK, COMPOUND, MODE)) {
+					sb.append('\n');
+					sb.append(next);
+					lineNumber++;
+					next = nextLine(lines);
+				}
+				source.add(sb.toString());
+				memory.getVariables().add(sb.toString());
+				break;
 			}
-			ParserMemory<T> parserMemory = new ParserMemory<>(memory);
-			commands.add(new StandardRule<>(sb.toString(), parserMemory));
-		} else if (MODE.matches(command)) {
-			memory.setFormatterMode(setNormalizer(command));
-		} else if (RESERVE.matches(command)) {
-			String reserve = RESERVE.replace(command, "");
-			Map<String, String> emptyMap = Collections.emptyMap();
-			List<String> list = Splitter.whitespace(reserve, emptyMap);
-			memory.getReserved().addAll(list);
-		} else if (BREAK.matches(command)) {
-			lineNumber = Integer.MAX_VALUE;
-		} else {
-			logger.add(scriptPath, lineNumber, command, "Unrecognized Command");
+			case RULE: {
+				StringBuilder sb = new StringBuilder(command);
+				String next = nextLine(lines);
+				while ((next != null) && CONTINUATION.matches(next)) {
+					sb.append('\n');
+					sb.append(next);
+					lineNumber++;
+					next = nextLine(lines);
+				}
+				ParserMemory<T> parserMemory = new ParserMemory<>(memory);
+				source.add(sb.toString());
+				commands.add(new StandardRule<>(sb.toString(), parserMemory));
+				break;
+			}
+			case MODE:
+				source.add(command);
+				memory.setFormatterMode(setNormalizer(command));
+				break;
+			case RESERVE: {
+				String reserve = RESERVE.replace(command, "");
+				Map<String, String> emptyMap = Collections.emptyMap();
+				List<String> list = Splitter.whitespace(reserve, emptyMap);
+				source.add(command);
+				memory.getReserved().addAll(list);
+				break;
+			}
+			case BREAK:
+				lineNumber = Integer.MAX_VALUE;
+				break;
+			default:
+				logger.add(scriptPath, lineNumber, command, "Unrecognized Command");
+				break;
 		}
 	}
 
@@ -228,20 +351,23 @@ public class ScriptParser<T> {
 	 * 		and scriptPath-handle
 	 */
 	private void openLexicon(
-			String filePath, String command, SequenceFactory<T> factory
+			String filePath, String command,
+			Supplier<SequenceFactory<T>> factories
 	) {
 		Match<String> matcher = OPEN.match(command);
 		if (matcher.matches()) {
 			String path = matcher.group(1);
 			String handle = matcher.group(3);
-			String fullPath = getPath(filePath, path);
+			String fullPath = resolve(filePath, path);
 			commands.add(new LexiconOpenCommand<>(
 					memory.getLexicons(),
 					fullPath,
 					handle,
 					fileHandler,
-					factory
+					factories,
+					memory.getOptions()
 			));
+			source.add("OPEN '" + fullPath + "' as " + handle);
 			paths.add(fullPath);
 		} else {
 			String message = Templates.create()
@@ -268,14 +394,16 @@ public class ScriptParser<T> {
 		if (matcher.matches()) {
 			String handle = matcher.group(1);
 			String path = matcher.group(3);
-			String fullPath = getPath(filePath, path);
+			String fullPath = resolve(filePath, path);
 			commands.add(new LexiconCloseCommand<>(
 					memory.getLexicons(),
 					fullPath,
 					handle,
 					fileHandler,
 					mode));
+			source.add("CLOSE " + handle + " as '" + fullPath + "'");
 			paths.add(fullPath);
+			outputs.add(fullPath);
 		} else {
 			String message = Templates.create()
 					.add("Incorrectly formatted CLOSE statement.")
@@ -301,14 +429,16 @@ public class ScriptParser<T> {
 		if (matcher.matches()) {
 			String handle = matcher.group(1);
 			String path = matcher.group(3);
-			String fullPath = getPath(filePath, path);
+			String fullPath = resolve(filePath, path);
 			commands.add(new LexiconWriteCommand<>(
 					memory.getLexicons(),
 					fullPath,
 					handle,
 					fileHandler,
 					mode));
+			source.add("WRITE " + handle + " as '" + fullPath + "'");
 			paths.add(fullPath);
+			outputs.add(fullPath);
 		} else {
 			String message = Templates.create()
 					.add("Incorrectly formatted WRITE statement.")
@@ -329,29 +459,20 @@ public class ScriptParser<T> {
 	private void importScript(String filePath, String command) {
 		String input = IMPORT.replace(command,"");
 		String path = QUOTES.replace(input,"");
-		try {
-			String fullPath = getPath(filePath, path);
-			String data = fileHandler.read(path);
-			ScriptParser<T> scriptParser = new ScriptParser<>(
-					fullPath,
-					type,
-					data,
-					fileHandler,
-					logger,
-					memory
-			);
-			scriptParser.parse();
-			commands.add(new ScriptImportCommand(
-					filePath,
-					fileHandler,
-					logger,
-					scriptParser.getCommands()
-			));
-			paths.add(fullPath);
-			paths.addAll(scriptParser.getPaths());
-		} catch (IOException e) {
-			throw new ParseException("Unable to read from import " + path, e);
-		}
+		String fullPath = resolve(filePath, path);
+		ImportCache.Result<T> result = parseNested(fullPath, path);
+		commands.add(new ScriptImportCommand(
+				filePath,
+				fileHandler,
+				logger,
+				result.getCommands()
+		));
+		source.addAll(result.getSource());
+		paths.add(fullPath);
+		paths.addAll(result.getPaths());
+		outputs.addAll(result.getOutputs());
+		dependencies.add(path);
+		dependencies.addAll(result.getDependencies());
 	}
 
 	/**
@@ -364,28 +485,76 @@ public class ScriptParser<T> {
 	private void executeScript(String filePath, String command) {
 		String input = EXECUTE.replace(command, "");
 		String path = QUOTES.replace(input, "");
-		try {
-		String fullPath = getPath(filePath, path);
-		String data = fileHandler.read(path);
-		ScriptParser<T> scriptParser = new ScriptParser<>(
-				fullPath,
-				type,
-				data,
-				fileHandler,
-				logger,
-				memory
-		);
-		scriptParser.parse();
+		String fullPath = resolve(filePath, path);
+		ImportCache.Result<T> result = parseNested(fullPath, path);
 		commands.add(new ScriptExecuteCommand<>(
 				filePath,
 				fileHandler,
 				logger,
-				scriptParser.getCommands()
+				result.getCommands()
 		));
+		source.add("EXECUTE '" + fullPath + "'");
 		paths.add(fullPath);
-			paths.addAll(scriptParser.getPaths());
+		paths.addAll(result.getPaths());
+		outputs.addAll(result.getOutputs());
+		dependencies.add(path);
+		dependencies.addAll(result.getDependencies());
+	}
+
+	/**
+	 * Parses a script referenced by {@code IMPORT} or {@code EXECUTE}, or
+	 * reuses the result of an earlier reference to the same script if the
+	 * parser state is unchanged since.
+	 *
+	 * @param fullPath the path of the script relative to the parent script
+	 * @param path     the path of the script as written in the command
+	 *
+	 * @return the parsed commands and paths of the nested script
+	 *
+	 * @throws ParseException if the script cannot be read or references
+	 * 		itself, directly or indirectly
+	 */
+	private ImportCache.Result<T> parseNested(String fullPath, String path) {
+		if (!imports.enter(fullPath)) {
+			String message = Templates.create()
+					.add("Circular reference to script {} via {}")
+					.with(fullPath, imports.getChain())
+					.build();
+			throw new ParseException(message);
+		}
+		ScriptEvent event = ScriptEvents.importScript(scriptPath, fullPath);
+		try {
+			String data = fileHandler.read(path);
+			ImportCache.Result<T> result = imports.get(fullPath, data, memory);
+			if (result != null) {
+				result.restore(memory);
+				if (event != null) {
+					event.setCached(true);
+				}
+				return result;
+			}
+			ScriptParser<T> scriptParser = new ScriptParser<>(
+					fullPath,
+					type,
+					data,
+					fileHandler,
+					logger,
+					memory,
+					imports,
+					false
+			);
+			ParserMemory<T> inherited = new ParserMemory<>(memory);
+			scriptParser.parse();
+			result = new ImportCache.Result<>(scriptParser);
+			imports.put(fullPath, data, inherited, result);
+			return result;
 		} catch (IOException e) {
 			throw new ParseException("Unable to read from import " + path, e);
+		} finally {
+			imports.exit(fullPath);
+			if (event != null) {
+				event.commit();
+			}
 		}
 	}
 
@@ -396,15 +565,26 @@ public class ScriptParser<T> {
 	) {
 		String input = LOAD.replace(command,"");
 		String path = QUOTES.replace(input,"");
-		String fullPath = getPath(filePath, path);
+		String fullPath = resolve(filePath, path);
 
-		FeatureModelLoader<T> loader = new FeatureModelLoader<>(
-				type,
-				handler,
-				fullPath
-		);
+		source.add("LOAD '" + fullPath + "'");
 		paths.add(fullPath);
-		return loader.getFeatureMapping();
+		dependencies.add(fullPath);
+		ScriptEvent event = ScriptEvents.loadModel(filePath, fullPath);
+		FeatureMapping<T> mapping = FeatureModelCache.load(type, handler,
+				fullPath);
+		if (event != null) {
+			event.commit();
+		}
+		return mapping;
+	}
+
+	/**
+	 * @return the path relative to the script containing it, unless paths
+	 * 		have already been resolved
+	 */
+	private String resolve(String filePath, String path) {
+		return resolved ? path : getPath(filePath, path);
 	}
 
 	private static String getPath(String filePath, String path) {
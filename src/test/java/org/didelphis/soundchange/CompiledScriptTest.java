@@ -0,0 +1,104 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.ClassPathFileHandler;
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.command.rule.Rule;
+import org.didelphis.soundchange.command.rule.StandardRule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledScriptTest {
+
+	@Test
+	void testApply() {
+		CompiledScript<Integer> script = new CompiledScript<>("",
+				IntegerFeature.INSTANCE, "C = p t k\nC > x / _#",
+				new MockFileHandler(new HashMap<>()));
+
+		assertEquals("apax", script.apply("apat"));
+
+		Sequence<Integer> word = script.getFactory().toSequence("tak");
+		assertEquals(script.getFactory().toSequence("tax"), script.apply(word));
+		assertEquals(script.getFactory().toSequence("tak"), word);
+	}
+
+	@Test
+	void testApplyAllParallel() throws IOException {
+		ClassPathFileHandler handler = ClassPathFileHandler.INSTANCE;
+		String rules = handler.read("testRuleLarge01.txt");
+		List<String> words = Arrays.asList(
+				handler.read("testRuleLarge01.lex").split("\r?\n|\r"));
+		List<String> expected = Arrays.asList(
+				handler.read("testRuleLargeOut01.lex").split("\r?\n|\r"));
+
+		CompiledScript<Integer> script = new CompiledScript<>("",
+				IntegerFeature.INSTANCE,
+				"MODE INTELLIGENT\nOPEN 'in.lex' as LEX\n" + rules +
+						"\nMODE COMPOSITION\nCLOSE LEX as 'out.lex'",
+				new MockFileHandler(new HashMap<>()));
+
+		for (int i = 0; i < 8; i++) {
+			List<String> actual = script.applyAll(words.parallelStream())
+					.collect(Collectors.toList());
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void testRulesCanOnlyBeApplied() {
+		CompiledScript<Integer> script = new CompiledScript<>("",
+				IntegerFeature.INSTANCE, "C = p t k\nC > x / _#",
+				new MockFileHandler(new HashMap<>()));
+		List<Rule<Integer>> rules = script.getRules();
+		Rule<Integer> rule = rules.get(0);
+
+		assertThrows(UnsupportedOperationException.class,
+				() -> rules.add(rule));
+		assertFalse(rule instanceof StandardRule);
+
+		SequenceFactory<Integer> factory = script.getFactory();
+		assertEquals(factory.toSequence("tax"),
+				rule.apply(factory.toSequence("tak")));
+	}
+
+	@Test
+	void testFactoryPerThread() {
+		CompiledScript<Integer> script = new CompiledScript<>("",
+				IntegerFeature.INSTANCE, "C = p t k\nC > x / _#",
+				new MockFileHandler(new HashMap<>()));
+		SequenceFactory<Integer> factory = script.getFactory();
+
+		assertSame(factory, script.getFactory());
+		assertNotSame(factory,
+				CompletableFuture.supplyAsync(script::getFactory).join());
+	}
+}
@@ -0,0 +1,59 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.DiskFileHandler;
+import org.didelphis.io.FileHandler;
+import org.didelphis.io.MockFileHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileStampTest {
+
+	@Test
+	void testStampChangesWithFile() throws IOException {
+		FileHandler handler = new DiskFileHandler("UTF-8");
+		Path file = Files.createTempFile("stamp", ".txt");
+		try {
+			Files.write(file, "p > b".getBytes(StandardCharsets.UTF_8));
+			FileStamp stamp = FileStamp.of(handler, file.toString());
+			assertNotNull(stamp);
+			assertTrue(stamp.matches(handler, file.toString()));
+
+			Files.setLastModifiedTime(file, FileTime.fromMillis(
+					Files.getLastModifiedTime(file).toMillis() + 2000));
+			assertFalse(stamp.matches(handler, file.toString()));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void testNoStampWithoutDisk() {
+		FileHandler handler = new MockFileHandler(new HashMap<>());
+		assertNull(FileStamp.of(handler, "script"));
+	}
+}
@@ -0,0 +1,159 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScriptBatchTest {
+
+	@Test
+	void testGroupConflicts() {
+		FileHandler handler = new MockFileHandler(new ConcurrentHashMap<>());
+		List<ScriptBatch.Job> scripts = Arrays.asList(
+				script("OPEN 'a.lex' as A\nCLOSE A as 'b.lex'", handler),
+				script("OPEN 'x.lex' as X\nCLOSE X as 'y.lex'", handler),
+				script("OPEN 'b.lex' as B\nCLOSE B as 'c.lex'", handler),
+				script("OPEN 'a.lex' as A\nCLOSE A as 'z.lex'", handler)
+		);
+		List<List<Integer>> expected = Arrays.asList(
+				Arrays.asList(0, 2),
+				Arrays.asList(1),
+				Arrays.asList(3)
+		);
+		assertEquals(expected, ScriptBatch.group(scripts));
+	}
+
+	@Test
+	void testGroupNormalizedPaths() {
+		FileHandler handler = new MockFileHandler(new ConcurrentHashMap<>());
+		List<ScriptBatch.Job> scripts = Arrays.asList(
+				script("OPEN 'a.lex' as A\nCLOSE A as 'out/b.lex'", handler),
+				script("OPEN './out/../out/b.lex' as B\nCLOSE B as 'c.lex'", handler)
+		);
+		List<List<Integer>> expected = Arrays.asList(Arrays.asList(0, 1));
+		assertEquals(expected, ScriptBatch.group(scripts));
+	}
+
+	@Test
+	void testRunInOrder() {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("first.txt", "OPEN 'a.lex' as A\np > b\nCLOSE A as 'b.lex'");
+		fileSystem.put("second.txt", "OPEN 'b.lex' as B\nt > d\nCLOSE B as 'c.lex'");
+		fileSystem.put("other.txt", "OPEN 'x.lex' as X\nk > g\nCLOSE X as 'y.lex'");
+		fileSystem.put("a.lex", "apat\npata");
+		fileSystem.put("x.lex", "aka");
+
+		ScriptBatch batch = new ScriptBatch(
+				() -> new MockFileHandler(fileSystem),
+				new ScriptOptions(),
+				false,
+				3
+		);
+		int failures = batch.run(
+				Arrays.asList("first.txt", "other.txt", "second.txt"));
+
+		assertEquals(0, failures);
+		assertEquals("abad\nbada", fileSystem.get("c.lex"));
+		assertEquals("aga", fileSystem.get("y.lex"));
+	}
+
+	@Test
+	void testCompileFailure() {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("broken.txt", "NOT A COMMAND");
+		fileSystem.put("other.txt", "OPEN 'x.lex' as X\nCLOSE X as 'y.lex'");
+		fileSystem.put("x.lex", "aka");
+
+		ScriptBatch batch = new ScriptBatch(
+				() -> new MockFileHandler(fileSystem),
+				new ScriptOptions(),
+				false,
+				2
+		);
+
+		assertEquals(1, batch.run(Arrays.asList("broken.txt", "other.txt")));
+		assertEquals("aka", fileSystem.get("y.lex"));
+	}
+
+	@Test
+	void testRunError() {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("first.txt", "OPEN 'a.lex' as A\nCLOSE A as 'b.lex'");
+		fileSystem.put("other.txt", "OPEN 'x.lex' as X\nCLOSE X as 'y.lex'");
+		fileSystem.put("a.lex", "apat");
+		fileSystem.put("x.lex", "aka");
+
+		ScriptBatch batch = new ScriptBatch(
+				() -> new MockFileHandler(fileSystem) {
+					@Override
+					public String read(String path) {
+						if (path.equals("a.lex")) {
+							throw new StackOverflowError();
+						}
+						return super.read(path);
+					}
+				},
+				new ScriptOptions(),
+				false,
+				2
+		);
+
+		assertThrows(StackOverflowError.class,
+				() -> batch.run(Arrays.asList("first.txt", "other.txt")));
+		// The other group still ran to completion
+		assertEquals("aka", fileSystem.get("y.lex"));
+	}
+
+	@Test
+	void testCompileFailureSkipsGroup() {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("broken.txt", "OPEN 'a.lex' as A\nNOT A COMMAND\nCLOSE A as 'b.lex'");
+		fileSystem.put("second.txt", "OPEN 'b.lex' as B\nCLOSE B as 'c.lex'");
+		fileSystem.put("other.txt", "OPEN 'x.lex' as X\nCLOSE X as 'y.lex'");
+		fileSystem.put("b.lex", "stale");
+		fileSystem.put("x.lex", "aka");
+
+		ScriptBatch batch = new ScriptBatch(
+				() -> new MockFileHandler(fileSystem),
+				new ScriptOptions(),
+				false,
+				2
+		);
+
+		assertEquals(2, batch.run(
+				Arrays.asList("broken.txt", "second.txt", "other.txt")));
+		// Not run from the stale output of the broken script
+		assertNull(fileSystem.get("c.lex"));
+		assertEquals("aka", fileSystem.get("y.lex"));
+	}
+
+	private static ScriptBatch.Job script(String commands,
+			FileHandler handler) {
+		return ScriptBatch.Job.compiled("", new StandardScript<>("",
+				IntegerFeature.INSTANCE, commands, handler, new ErrorLogger()), 0);
+	}
+}
@@ -0,0 +1,113 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptCacheTest {
+
+	@Test
+	void testCachedScriptProducesSameOutput() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("script1", "C = p t k\nV = a i u");
+		fileSystem.put("lexicon", "apaka\npaku\natuku");
+		FileHandler handler = new MockFileHandler(fileSystem);
+
+		String script = String.join("\n",
+				"OPEN 'lexicon' as LEXICON",
+				"IMPORT 'script1'",
+				"a i u > 0 / VC_CV",
+				"CLOSE LEXICON as 'newlex'"
+		);
+
+		load(script, handler).process();
+		assertEquals("apka\npaku\natku", fileSystem.get("newlex"));
+		assertTrue(fileSystem.containsKey("main.cache"));
+
+		fileSystem.remove("newlex");
+		load(script, handler).process();
+		assertEquals("apka\npaku\natku", fileSystem.get("newlex"));
+	}
+
+	@Test
+	void testCachedScriptSkipsImports() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("script1", "C = p t k\nV = a i u");
+		fileSystem.put("lexicon", "apaka\npaku\natuku");
+		Map<String, Integer> reads = new HashMap<>();
+		FileHandler handler = new MockFileHandler(fileSystem) {
+			@Override
+			public String read(String path) {
+				reads.merge(path, 1, Integer::sum);
+				return super.read(path);
+			}
+		};
+
+		String script = String.join("\n",
+				"OPEN 'lexicon' as LEXICON",
+				"IMPORT 'script1'",
+				"a i u > 0 / VC_CV",
+				"CLOSE LEXICON as 'newlex'"
+		);
+
+		// Parsed once for the script, and once more for its digest
+		load(script, handler).process();
+		assertEquals(2, (int) reads.get("script1"));
+
+		// Only read to check its digest; the import is not parsed again
+		reads.clear();
+		fileSystem.remove("newlex");
+		load(script, handler).process();
+		assertEquals(1, (int) reads.get("script1"));
+		assertEquals("apka\npaku\natku", fileSystem.get("newlex"));
+	}
+
+	@Test
+	void testChangedImportInvalidatesCache() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("script1", "C = p t k\nV = a i u");
+		fileSystem.put("lexicon", "apaka\npaku\natuku");
+		FileHandler handler = new MockFileHandler(fileSystem);
+
+		String script = String.join("\n",
+				"OPEN 'lexicon' as LEXICON",
+				"IMPORT 'script1'",
+				"a i u > 0 / VC_CV",
+				"CLOSE LEXICON as 'newlex'"
+		);
+
+		load(script, handler).process();
+		assertEquals("apka\npaku\natku", fileSystem.get("newlex"));
+
+		fileSystem.put("script1", "C = p t\nV = a i u");
+		load(script, handler).process();
+		assertEquals("apaka\npaku\natuku", fileSystem.get("newlex"));
+	}
+
+	private static StandardScript<Integer> load(String script,
+			FileHandler handler) {
+		return ScriptCache.load("main", IntegerFeature.INSTANCE, script,
+				handler, new ErrorLogger());
+	}
+}
@@ -0,0 +1,177 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptDaemonTest {
+
+	@Test
+	void testRunAndApply() throws IOException {
+		Path dir = Files.createTempDirectory("daemon");
+		Path script = dir.resolve("script.txt");
+		write(script, "OPEN 'in.lex' as LEX\np > b\nCLOSE LEX as 'out.lex'");
+		write(dir.resolve("in.lex"), "apa\npata");
+		String path = script.toString();
+
+		try (ScriptDaemon daemon = start(0)) {
+			try (Socket socket = connect(daemon);
+			     BufferedReader reader = newReader(socket);
+			     Writer writer = newWriter(socket)) {
+
+				writer.write("RUN " + path + '\n');
+				writer.flush();
+				assertTrue(reader.readLine().startsWith("OK "));
+				assertEquals("aba\nbata", read(dir.resolve("out.lex")));
+
+				writer.write("APPLY " + path + "\npat\nkap\n\n");
+				writer.flush();
+				assertEquals(Arrays.asList("OK 2", "bat", "kab"),
+						readLines(reader, 3));
+
+				// A changed script is compiled again
+				write(script, "OPEN 'in.lex' as LEX\np > f\nCLOSE LEX as 'out.lex'");
+				Files.setLastModifiedTime(script, FileTime.fromMillis(
+						Files.getLastModifiedTime(script).toMillis() + 2000));
+				writer.write("APPLY " + path + "\npat\n\n");
+				writer.flush();
+				assertEquals(Arrays.asList("OK 1", "fat"), readLines(reader, 2));
+
+				writer.write("APPLY " + dir.resolve("missing.txt") + "\npat\n\n");
+				writer.flush();
+				assertTrue(reader.readLine().startsWith("ERROR "));
+			}
+		}
+	}
+
+	@Test
+	void testRunTwice() throws IOException {
+		Path dir = Files.createTempDirectory("daemon");
+		Path script = dir.resolve("script.txt");
+		write(script, "OPEN 'in.lex' as LEX\np > b\nCLOSE LEX as 'out.lex'");
+		write(dir.resolve("in.lex"), "apa\npata");
+		String path = script.toString();
+
+		try (ScriptDaemon daemon = start(0)) {
+			try (Socket socket = connect(daemon);
+			     BufferedReader reader = newReader(socket);
+			     Writer writer = newWriter(socket)) {
+
+				writer.write("RUN " + path + '\n');
+				writer.flush();
+				assertTrue(reader.readLine().startsWith("OK "));
+				assertEquals("aba\nbata", read(dir.resolve("out.lex")));
+
+				// The cached script reads the lexicon again on the second run
+				write(dir.resolve("in.lex"), "pip\nap");
+				writer.write("RUN " + path + '\n');
+				writer.flush();
+				assertTrue(reader.readLine().startsWith("OK "));
+				assertEquals("bib\nab", read(dir.resolve("out.lex")));
+			}
+		}
+	}
+
+	@Test
+	void testChecksAreThrottled() throws IOException {
+		Path dir = Files.createTempDirectory("daemon");
+		Path script = dir.resolve("script.txt");
+		write(script, "OPEN 'in.lex' as LEX\np > b\nCLOSE LEX as 'out.lex'");
+		write(dir.resolve("in.lex"), "apa");
+		String path = script.toString();
+
+		try (ScriptDaemon daemon = start(60_000)) {
+			try (Socket socket = connect(daemon);
+			     BufferedReader reader = newReader(socket);
+			     Writer writer = newWriter(socket)) {
+
+				writer.write("APPLY " + path + "\npat\n\n");
+				writer.flush();
+				assertEquals(Arrays.asList("OK 1", "bat"), readLines(reader, 2));
+
+				// Within the interval the compiled script is used unchecked
+				write(script, "OPEN 'in.lex' as LEX\np > f\nCLOSE LEX as 'out.lex'");
+				Files.setLastModifiedTime(script, FileTime.fromMillis(
+						Files.getLastModifiedTime(script).toMillis() + 2000));
+				writer.write("APPLY " + path + "\npat\n\n");
+				writer.flush();
+				assertEquals(Arrays.asList("OK 1", "bat"), readLines(reader, 2));
+			}
+		}
+	}
+
+	private static ScriptDaemon start(long checkInterval) throws IOException {
+		ScriptDaemon daemon = new ScriptDaemon(0, new ScriptOptions(),
+				checkInterval);
+		Thread thread = new Thread(() -> {
+			try {
+				daemon.serve();
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return daemon;
+	}
+
+	private static Socket connect(ScriptDaemon daemon) throws IOException {
+		return new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+	}
+
+	private static BufferedReader newReader(Socket socket) throws IOException {
+		return new BufferedReader(new InputStreamReader(
+				socket.getInputStream(), StandardCharsets.UTF_8));
+	}
+
+	private static Writer newWriter(Socket socket) throws IOException {
+		return new OutputStreamWriter(socket.getOutputStream(),
+				StandardCharsets.UTF_8);
+	}
+
+	private static List<String> readLines(BufferedReader reader, int count)
+			throws IOException {
+		String[] lines = new String[count];
+		for (int i = 0; i < count; i++) {
+			lines[i] = reader.readLine();
+		}
+		return Arrays.asList(lines);
+	}
+
+	private static void write(Path path, String data) throws IOException {
+		Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(Path path) throws IOException {
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,62 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ScriptFilterTest {
+
+	@Test
+	void testFilter() throws IOException {
+		ScriptFilter<Integer> filter = getFilter("p > b\nt > d");
+		StringWriter writer = new StringWriter();
+		filter.filter(new BufferedReader(new StringReader("apat\tpata\nkat\n")),
+				writer, 1);
+		assertEquals("abad\tbada\nkad\n", writer.toString());
+	}
+
+	@Test
+	void testLexiconCommandsIgnored() {
+		Map<String, String> fileSystem = new HashMap<>();
+		ScriptFilter<Integer> filter = getFilter(
+				"OPEN 'in.lex' as LEX\np > b\nCLOSE LEX as 'out.lex'",
+				fileSystem);
+		assertEquals("aba", filter.apply("apa"));
+		assertEquals("", filter.apply(""));
+		assertNull(fileSystem.get("out.lex"));
+	}
+
+	private static ScriptFilter<Integer> getFilter(String script) {
+		return getFilter(script, new HashMap<>());
+	}
+
+	private static ScriptFilter<Integer> getFilter(String script,
+			Map<String, String> fileSystem) {
+		return new ScriptFilter<>(new CompiledScript<>("",
+				IntegerFeature.INSTANCE, script, new MockFileHandler(fileSystem)));
+	}
+}
@@ -0,0 +1,131 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptPipelineTest {
+
+	private static final CompiledScript<Integer> SCRIPT = new CompiledScript<>(
+			"", IntegerFeature.INSTANCE, "p > b\nt > d",
+			new MockFileHandler(new HashMap<>()));
+
+	@Test
+	void testOrdered() throws InterruptedException {
+		List<String> output = new ArrayList<>();
+		try (ScriptPipeline pipeline = new ScriptPipeline(SCRIPT, output::add,
+				4, 3, 6, true)) {
+			for (int i = 0; i < 100; i++) {
+				pipeline.submit("pat" + suffix(i));
+			}
+		}
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			expected.add("bad" + suffix(i));
+		}
+		assertEquals(expected, output);
+	}
+
+	@Test
+	void testUnordered() throws InterruptedException {
+		List<String> output = new ArrayList<>();
+		try (ScriptPipeline pipeline = new ScriptPipeline(SCRIPT, output::add,
+				4, 2, 4, false)) {
+			for (int i = 0; i < 50; i++) {
+				pipeline.submit("tap" + suffix(i));
+			}
+		}
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			expected.add("dab" + suffix(i));
+		}
+		Collections.sort(expected);
+		Collections.sort(output);
+		assertEquals(expected, output);
+	}
+
+	/**
+	 * @return a distinct string of letters for each number
+	 */
+	private static String suffix(int i) {
+		StringBuilder sb = new StringBuilder();
+		do {
+			sb.append("aeiou".charAt(i % 5));
+			i /= 5;
+		} while (i > 0);
+		return sb.toString();
+	}
+
+	@Test
+	void testDownstreamFailure() {
+		assertThrows(IllegalStateException.class, () -> {
+			try (ScriptPipeline pipeline = new ScriptPipeline(SCRIPT, word -> {
+				throw new IllegalStateException(word);
+			}, 2, 1, 2, true)) {
+				pipeline.submit("pat");
+				pipeline.submit("tap");
+			}
+		});
+	}
+
+	@Test
+	void testDownstreamCheckedException() {
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> {
+			try (ScriptPipeline pipeline = new ScriptPipeline(SCRIPT,
+					word -> ScriptPipelineTest.<RuntimeException>sneakyThrow(
+							new IOException(word)), 2, 1, 2, true)) {
+				pipeline.submit("pat");
+				pipeline.submit("tap");
+			}
+		});
+		assertTrue(e.getCause() instanceof IOException);
+	}
+
+	@Test
+	void testDownstreamError() {
+		assertThrows(StackOverflowError.class, () -> {
+			try (ScriptPipeline pipeline = new ScriptPipeline(SCRIPT, word -> {
+				throw new StackOverflowError();
+			}, 2, 1, 2, true)) {
+				pipeline.submit("pat");
+				pipeline.submit("tap");
+				pipeline.submit("kat");
+			}
+		});
+	}
+
+	/**
+	 * Throws a checked exception from code which does not declare it, as
+	 * some consumers written in other languages do
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> void sneakyThrow(Throwable e)
+			throws E {
+		throw (E) e;
+	}
+}
@@ -0,0 +1,189 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.soundchange.command.io.StreamingFileHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScriptRegistryTest {
+
+	@Test
+	void testDependencyChanges() throws IOException {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("main.txt", "IMPORT 'rules.txt'");
+		fileSystem.put("rules.txt", "p > b");
+		ScriptRegistry<Integer> registry = getRegistry(fileSystem, 4);
+
+		CompiledScript<Integer> first = registry.get("main.txt");
+		assertSame(first, registry.get("main.txt"));
+		assertEquals("aba", first.apply("apa"));
+
+		fileSystem.put("rules.txt", "p > f");
+		CompiledScript<Integer> second = registry.get("main.txt");
+		assertNotSame(first, second);
+		assertEquals("afa", second.apply("apa"));
+
+		fileSystem.put("main.txt", "IMPORT 'rules.txt'\nf > v");
+		assertEquals("ava", registry.get("main.txt").apply("apa"));
+
+		assertEquals(1, registry.getHits());
+		assertEquals(3, registry.getMisses());
+	}
+
+	@Test
+	void testStampedFiles() throws IOException {
+		Path directory = Files.createTempDirectory("registry");
+		Path main = directory.resolve("main.txt");
+		Path rules = directory.resolve("rules.txt");
+		try {
+			Files.write(main, "IMPORT 'rules.txt'".getBytes(StandardCharsets.UTF_8));
+			Files.write(rules, "p > b".getBytes(StandardCharsets.UTF_8));
+			ScriptRegistry<Integer> registry = new ScriptRegistry<>(
+					IntegerFeature.INSTANCE,
+					new StreamingFileHandler(StandardCharsets.UTF_8),
+					4, Long.MAX_VALUE);
+
+			CompiledScript<Integer> first = registry.get(main.toString());
+			assertSame(first, registry.get(main.toString()));
+
+			// Touched, but unchanged
+			touch(rules, 2);
+			assertSame(first, registry.get(main.toString()));
+
+			Files.write(rules, "p > f".getBytes(StandardCharsets.UTF_8));
+			touch(rules, 4);
+			CompiledScript<Integer> second = registry.get(main.toString());
+			assertNotSame(first, second);
+			assertEquals("afa", second.apply("apa"));
+
+			assertEquals(2, registry.getHits());
+			assertEquals(2, registry.getMisses());
+		} finally {
+			Files.deleteIfExists(main);
+			Files.deleteIfExists(rules);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	/**
+	 * Moves the modification time of the file forward by some seconds, so
+	 * that the change is seen even where times are only recorded to the
+	 * second
+	 */
+	private static void touch(Path file, int seconds) throws IOException {
+		Files.setLastModifiedTime(file, FileTime.fromMillis(
+				Files.getLastModifiedTime(file).toMillis() + seconds * 1000L));
+	}
+
+	@Test
+	void testEviction() throws IOException {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("a.txt", "a > b");
+		fileSystem.put("b.txt", "b > c");
+		fileSystem.put("c.txt", "c > d");
+		ScriptRegistry<Integer> registry = getRegistry(fileSystem, 2);
+
+		registry.get("a.txt");
+		registry.get("b.txt");
+		registry.get("a.txt");
+		registry.get("c.txt");
+
+		assertEquals(2, registry.size());
+		assertEquals(1, registry.getEvictions());
+		// b.txt was least recently used
+		registry.get("a.txt");
+		registry.get("b.txt");
+		assertEquals(2, registry.getHits());
+		assertEquals(4, registry.getMisses());
+	}
+
+	@Test
+	void testSingleFlight() throws Exception {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("main.txt", "C = p t k\nC > x / _#");
+		ScriptRegistry<Integer> registry = getRegistry(fileSystem, 4);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<CompiledScript<Integer>>> tasks = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				tasks.add(() -> registry.get("main.txt"));
+			}
+			List<Future<CompiledScript<Integer>>> futures =
+					executor.invokeAll(tasks);
+			CompiledScript<Integer> script = futures.get(0).get();
+			for (Future<CompiledScript<Integer>> future : futures) {
+				assertSame(script, future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, registry.getMisses());
+		assertEquals(7, registry.getHits());
+	}
+
+	@Test
+	void testErrorDuringCompilation() throws IOException {
+		Map<String, String> fileSystem = new ConcurrentHashMap<>();
+		fileSystem.put("main.txt", "IMPORT 'rules.txt'");
+		fileSystem.put("rules.txt", "p > b");
+		AtomicBoolean failing = new AtomicBoolean(true);
+		ScriptRegistry<Integer> registry = new ScriptRegistry<>(
+				IntegerFeature.INSTANCE,
+				new MockFileHandler(fileSystem) {
+					@Override
+					public String read(String path) {
+						if (failing.get() && path.equals("rules.txt")) {
+							throw new StackOverflowError();
+						}
+						return super.read(path);
+					}
+				}, 4, Long.MAX_VALUE);
+
+		assertThrows(StackOverflowError.class, () -> registry.get("main.txt"));
+		assertEquals(0, registry.size());
+
+		failing.set(false);
+		assertEquals("aba", registry.get("main.txt").apply("apa"));
+	}
+
+	private static ScriptRegistry<Integer> getRegistry(
+			Map<String, String> fileSystem, int maxEntries) {
+		return new ScriptRegistry<>(IntegerFeature.INSTANCE,
+				new MockFileHandler(fileSystem), maxEntries, Long.MAX_VALUE);
+	}
+}
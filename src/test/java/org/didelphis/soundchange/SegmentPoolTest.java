@@ -0,0 +1,136 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange;
+
+import org.didelphis.io.ClassPathFileHandler;
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentPoolTest {
+
+	private static final int SCALE = 100;
+
+	@Test
+	void testSharedSegments() {
+		FeatureMapping<Integer> mapping = IntegerFeature.INSTANCE
+				.emptyLoader()
+				.getFeatureMapping();
+		SequenceFactory<Integer> factory = new SequenceFactory<>(mapping,
+				FormatterMode.NONE);
+		SegmentPool<Integer> pool = new SegmentPool<>();
+
+		Sequence<Integer> first = pool.intern(factory.toSequence("apa"));
+		Sequence<Integer> second = pool.intern(factory.toSequence("pat"));
+
+		assertEquals(factory.toSequence("apa"), first);
+		assertSame(first.get(0), first.get(2));
+		assertSame(first.get(1), second.get(0));
+		assertSame(first.get(0), second.get(1));
+		assertEquals(3, pool.size());
+	}
+
+	@Test
+	void testPoolPerScript() {
+		LexiconMap<Integer> lexicons = new LexiconMap<>();
+		assertSame(lexicons.getPool(), new LexiconMap<>(lexicons).getPool());
+		assertNotSame(lexicons.getPool(), new LexiconMap<Integer>().getPool());
+	}
+
+	@Test
+	void testCopyDoesNotShareFeatures() {
+		FeatureMapping<Integer> mapping = IntegerFeature.INSTANCE
+				.emptyLoader()
+				.getFeatureMapping();
+		SequenceFactory<Integer> factory = new SequenceFactory<>(mapping,
+				FormatterMode.NONE);
+		SegmentPool<Integer> pool = new SegmentPool<>();
+
+		Segment<Integer> pooled = pool.intern(factory.toSequence("a")).get(0);
+		Segment<Integer> copy = SegmentPool.copy(pooled);
+
+		assertEquals(pooled, copy);
+		assertNotSame(pooled, copy);
+		assertNotSame(pooled.getFeatures(), copy.getFeatures());
+	}
+
+	/*
+	 * Before and after comparison on vainakh_test.lex, repeated SCALE times:
+	 * counts the distinct segment instances retained by the lexicon, which is
+	 * what interning reduces, rather than sampling the heap, which is not
+	 * stable enough to assert on.
+	 */
+	@Test
+	void testScaledLexiconRetainsPooledSegmentsOnly() throws IOException {
+		FeatureMapping<Integer> mapping = IntegerFeature.INSTANCE
+				.emptyLoader()
+				.getFeatureMapping();
+		SequenceFactory<Integer> factory = new SequenceFactory<>(mapping,
+				FormatterMode.NONE);
+		SegmentPool<Integer> pool = new SegmentPool<>();
+
+		String data = ClassPathFileHandler.INSTANCE.read("vainakh_test.lex");
+		List<Sequence<Integer>> plain = new ArrayList<>();
+		List<Sequence<Integer>> interned = new ArrayList<>();
+		int segments = 0;
+		for (int i = 0; i < SCALE; i++) {
+			for (String line : data.split("\r?\n")) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				Sequence<Integer> word = factory.toSequence(line.trim());
+				plain.add(word);
+				interned.add(pool.intern(word));
+				segments += word.size();
+			}
+		}
+
+		int before = countInstances(plain);
+		int after = countInstances(interned);
+
+		assertEquals(pool.size(), after);
+		assertTrue(after <= before,
+				"Lexicon of " + segments + " segments retains " + before
+						+ " segment instances without pooling and " + after
+						+ " with pooling");
+	}
+
+	private static int countInstances(List<Sequence<Integer>> lexicon) {
+		Set<Segment<Integer>> instances =
+				Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Sequence<Integer> word : lexicon) {
+			for (Segment<Integer> segment : word) {
+				instances.add(segment);
+			}
+		}
+		return instances.size();
+	}
+}
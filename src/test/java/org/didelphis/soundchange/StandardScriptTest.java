@@ -21,6 +21,7 @@ import org.didelphis.io.FileHandler;
 import org.didelphis.io.MockFileHandler;
 import org.didelphis.io.NullFileHandler;
 import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.parsing.ParseException;
 import org.didelphis.language.phonetic.Lexicon;
 import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.features.IntegerFeature;
@@ -28,12 +29,17 @@ import org.didelphis.language.phonetic.model.FeatureMapping;
 import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.junit.jupiter.api.Test;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @FieldDefaults(makeFinal =  true, level = AccessLevel.PRIVATE)
@@ -364,6 +370,217 @@ class StandardScriptTest {
 		assertEquals(lexicon, map.get("close.lex"));
 	}
 
+	@Test
+	void testStreamingMatchesInMemory() throws IOException {
+		String rules = CLASSPATH.read("testRuleLarge01.txt");
+		String words = CLASSPATH.read("testRuleLarge01.lex");
+		String outpt = CLASSPATH.read("testRuleLargeOut01.lex");
+
+		String commands = joinLines(
+				"MODE INTELLIGENT",
+				"OPEN 'testRuleLarge01.lex' as LEXICON",
+				rules,
+				"MODE COMPOSITION",
+				"CLOSE LEXICON AS 'output.lex'"
+		);
+
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("testRuleLarge01.lex", words);
+
+		ScriptOptions options = new ScriptOptions();
+		options.setStreaming(true);
+		options.setChunkSize(3);
+		StandardScript<Integer> script = new StandardScript<>("",
+				IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options
+		);
+		script.process();
+
+		assertTrue(script.isStreamed());
+		assertEquals(outpt.replaceAll("\r\n|\n|\r", "\n"),
+				fileSystem.get("output.lex"));
+	}
+
+	@Test
+	void testStreamingFallsBackWithWrite() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa\nata");
+		String commands = joinLines(
+				"OPEN 'in.lex' as LEXICON",
+				"p > b",
+				"WRITE LEXICON as 'middle.lex'",
+				"t > d",
+				"CLOSE LEXICON as 'out.lex'"
+		);
+
+		ScriptOptions options = new ScriptOptions();
+		options.setStreaming(true);
+		StandardScript<Integer> script = new StandardScript<>("",
+				IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options
+		);
+		script.process();
+
+		assertFalse(script.isStreamed());
+		assertEquals("aba\nata", fileSystem.get("middle.lex"));
+		assertEquals("aba\nada", fileSystem.get("out.lex"));
+	}
+
+	@Test
+	void testOpenAfterWrite() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa\nata");
+		String commands = joinLines(
+				"OPEN 'in.lex' as FIRST",
+				"p > b",
+				"WRITE FIRST as 'middle.lex'",
+				"t > d",
+				"OPEN 'middle.lex' as SECOND",
+				"CLOSE FIRST as 'first.lex'",
+				"CLOSE SECOND as 'second.lex'"
+		);
+
+		getScript(commands, new MockFileHandler(fileSystem)).process();
+
+		assertEquals("aba\nada", fileSystem.get("first.lex"));
+		assertEquals("aba\nata", fileSystem.get("second.lex"));
+	}
+
+	@Test
+	void testBinaryHandOff() throws IOException {
+		String rules = CLASSPATH.read("testRuleLarge01.txt");
+		String words = CLASSPATH.read("testRuleLarge01.lex");
+		String outpt = CLASSPATH.read("testRuleLargeOut01.lex");
+
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("testRuleLarge01.lex", words);
+		FileHandler handler = new MockFileHandler(fileSystem);
+
+		getScript(joinLines(
+				"MODE INTELLIGENT",
+				"OPEN 'testRuleLarge01.lex' as LEXICON",
+				rules,
+				"CLOSE LEXICON AS 'stage.blex'"
+		), handler).process();
+
+		getScript(joinLines(
+				"OPEN 'stage.blex' as LEXICON",
+				"MODE COMPOSITION",
+				"CLOSE LEXICON AS 'output.lex'"
+		), handler).process();
+
+		assertEquals(outpt.replaceAll("\r\n|\n|\r", "\n"),
+				fileSystem.get("output.lex"));
+	}
+
+	@Test
+	void testParallelSegmentation() throws IOException {
+		String rules = CLASSPATH.read("testRuleLarge01.txt");
+		String words = CLASSPATH.read("testRuleLarge01.lex");
+		String outpt = CLASSPATH.read("testRuleLargeOut01.lex");
+
+		String commands = joinLines(
+				"MODE INTELLIGENT",
+				"OPEN 'testRuleLarge01.lex' as LEXICON",
+				rules,
+				"MODE COMPOSITION",
+				"CLOSE LEXICON AS 'output.lex'"
+		);
+
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("testRuleLarge01.lex", words);
+
+		ScriptOptions options = new ScriptOptions();
+		options.setParallelism(4);
+		options.setChunkSize(2);
+		new StandardScript<>("", IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options
+		).process();
+
+		assertEquals(outpt.replaceAll("\r\n|\n|\r", "\n"),
+				fileSystem.get("output.lex"));
+	}
+
+	@Test
+	void testExpansionLimit() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa");
+		String commands = joinLines(
+				"C = p t k",
+				"X = CCC",
+				"OPEN 'in.lex' as LEXICON",
+				"CLOSE LEXICON as 'out.lex'"
+		);
+
+		ScriptOptions options = new ScriptOptions();
+		options.setExpansionLimit(26);
+		assertThrows(ParseException.class, () -> new StandardScript<>("",
+				IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options));
+
+		options.setExpansionLimit(27);
+		new StandardScript<>("", IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options
+		).process();
+		assertEquals("apa", fileSystem.get("out.lex"));
+	}
+
+	@Test
+	void testDeduplication() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa\tata\napa\nata\tapa");
+		String commands = joinLines(
+				"OPEN 'in.lex' as LEXICON",
+				"p > b",
+				"WRITE LEXICON as 'middle.lex'",
+				"t > d",
+				"CLOSE LEXICON as 'out.lex'"
+		);
+
+		ScriptOptions options = new ScriptOptions();
+		options.setDeduplicating(true);
+		new StandardScript<>("", IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options
+		).process();
+
+		assertEquals("aba\tata\naba\nata\taba", fileSystem.get("middle.lex"));
+		assertEquals("aba\tada\naba\nada\taba", fileSystem.get("out.lex"));
+	}
+
+	@Test
+	void testMetrics() throws JMException {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa\tata");
+		String commands = joinLines(
+				"OPEN 'in.lex' as LEXICON",
+				"p > b",
+				"t > d / _#",
+				"CLOSE LEXICON as 'out.lex'"
+		);
+
+		ScriptOptions options = new ScriptOptions();
+		options.setCollectingMetrics(true);
+		new StandardScript<>("test.rule", IntegerFeature.INSTANCE, commands,
+				new MockFileHandler(fileSystem), new ErrorLogger(), options
+		).process();
+
+		assertEquals("aba\tata", fileSystem.get("out.lex"));
+		String report = fileSystem.get("test.rule.metrics.json");
+		assertTrue(report.contains("\"script\": \"test.rule\""));
+		assertTrue(report.contains("{\"rule\": \"p > b\", " +
+				"\"positionsScanned\": 6, \"sourceAttempts\": 6, " +
+				"\"conditionEvaluations\": 1, \"firings\": 1, " +
+				"\"words\": 2, \"wordsChanged\": 1, \"nanos\": "));
+		assertTrue(report.contains("{\"rule\": \"t > d / _#\", " +
+				"\"positionsScanned\": 6, \"sourceAttempts\": 6, " +
+				"\"conditionEvaluations\": 1, \"firings\": 0, " +
+				"\"words\": 2, \"wordsChanged\": 0, \"nanos\": "));
+		ObjectName pattern = new ObjectName(
+				"org.didelphis.soundchange:type=RuleMetrics,*");
+		assertTrue(ManagementFactory.getPlatformMBeanServer()
+				.queryNames(pattern, null).isEmpty());
+	}
+
 	private static StandardScript<Integer> getScript(String commands, FileHandler handler) {
 		return new StandardScript<>("", IntegerFeature.INSTANCE, commands, handler, new ErrorLogger());
 	}
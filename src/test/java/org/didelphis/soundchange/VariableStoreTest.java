@@ -15,9 +15,12 @@
 package org.didelphis.soundchange;
 
 import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.parsing.ParseException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 /**
  * Created by samantha on 2/14/17.
  */
@@ -103,4 +106,41 @@ public class VariableStoreTest {
 		);
 		Assertions.assertEquals(expected, vs.toString());
 	}
+
+	@Test
+	void testVariableExpansionLimit() {
+		VariableStore vs = new VariableStore(FormatterMode.NONE);
+		vs.setExpansionLimit(100);
+
+		vs.add("C = p t k b d g");
+		vs.add("CC = CC");
+		Assertions.assertThrows(ParseException.class, () -> vs.add("X = CCC"));
+	}
+
+	@Test
+	void testVariableExpansionLateBinding() {
+		VariableStore vs = new VariableStore(FormatterMode.NONE);
+
+		vs.add("A = B a");
+		vs.add("B = x y");
+		vs.add("C = A");
+
+		Assertions.assertEquals(Arrays.asList("x", "y", "a"), vs.get("C"));
+	}
+
+	@Test
+	void testVariableExpansionCycleNotMemoized() {
+		VariableStore first = new VariableStore(FormatterMode.NONE);
+		first.add("A = B x");
+		VariableStore second = new VariableStore(FormatterMode.NONE);
+		second.add("B = A y");
+		first.addAll(second);
+
+		// Expanding A stops at A inside B; B on its own stops at B inside A
+		first.add("X = A B");
+
+		Assertions.assertEquals(
+				Arrays.asList("A", "y", "x", "B", "x", "y"),
+				first.get("X"));
+	}
 }
@@ -0,0 +1,92 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.io.MockFileHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class LexiconFilesTest {
+
+	@Test
+	void testPlainRoundTrip() throws IOException {
+		Map<String, String> fileSystem = new HashMap<>();
+		FileHandler handler = new MockFileHandler(fileSystem);
+		String data = "apat\ttakan\nkepak";
+
+		try (Writer writer = LexiconFiles.newWriter(handler, "test.lex")) {
+			writer.write(data);
+		}
+		assertEquals(data, fileSystem.get("test.lex"));
+		assertEquals(data, readAll(handler, "test.lex"));
+	}
+
+	@Test
+	void testCompressedRoundTrip() throws IOException {
+		Map<String, String> fileSystem = new HashMap<>();
+		FileHandler handler = new MockFileHandler(fileSystem);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			sb.append("ḱerdʰ").append(i).append(i % 2 == 0 ? '\t' : '\n');
+		}
+		String data = sb.toString();
+
+		try (Writer writer = LexiconFiles.newWriter(handler, "test.lex.gz")) {
+			writer.write(data);
+		}
+		assertNotEquals(data, fileSystem.get("test.lex.gz"));
+		assertEquals(data, readAll(handler, "test.lex.gz"));
+	}
+
+	@Test
+	void testDiskHandlerEncoding() throws IOException {
+		FileHandler handler = new StreamingFileHandler(StandardCharsets.ISO_8859_1);
+		Path file = Files.createTempFile("encoded", ".lex");
+		String data = "kéra\tdør\nmàl";
+		try {
+			try (Writer writer = LexiconFiles.newWriter(handler, file.toString())) {
+				writer.write(data);
+			}
+			assertArrayEquals(data.getBytes(StandardCharsets.ISO_8859_1),
+					Files.readAllBytes(file));
+			assertEquals(data, readAll(handler, file.toString()));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void testMissingLexiconReadsAsNull() throws IOException {
+		FileHandler handler = new MockFileHandler(new HashMap<>());
+		assertEquals("null", readAll(handler, "missing.lex"));
+	}
+
+	private static String readAll(FileHandler handler, String path)
+			throws IOException {
+		StringBuilder sb = new StringBuilder();
+		try (Reader reader = LexiconFiles.newReader(handler, path)) {
+			char[] buffer = new char[1024];
+			for (int n = reader.read(buffer); n >= 0; n = reader.read(buffer)) {
+				sb.append(buffer, 0, n);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,95 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.io.FileHandler;
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.ScriptOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LexiconOpenCommandTest {
+
+	private static final FeatureMapping<Integer> MAPPING =
+			IntegerFeature.INSTANCE.emptyLoader().getFeatureMapping();
+
+	@Test
+	void testParallelWorkersUseOwnFactoriesAndSharedThreads() {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			lines.add("apa\tata");
+		}
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("a.lex", String.join("\n", lines));
+		fileSystem.put("b.lex", String.join("\n", lines));
+		FileHandler handler = new MockFileHandler(fileSystem);
+
+		Set<Thread> workers = Collections.newSetFromMap(
+				new ConcurrentHashMap<>());
+		AtomicInteger workerFactories = new AtomicInteger();
+		Supplier<SequenceFactory<Integer>> factories = () -> {
+			Thread thread = Thread.currentThread();
+			if (thread.getName().equals("lexicon-segmenter")) {
+				workers.add(thread);
+				workerFactories.incrementAndGet();
+			}
+			return new SequenceFactory<>(MAPPING, FormatterMode.NONE);
+		};
+
+		ScriptOptions options = new ScriptOptions();
+		options.setParallelism(4);
+		options.setChunkSize(2);
+		LexiconMap<Integer> lexicons = new LexiconMap<>();
+		try {
+			new LexiconOpenCommand<>(lexicons, "a.lex", "A", handler,
+					factories, options).run();
+			new LexiconOpenCommand<>(lexicons, "b.lex", "B", handler,
+					factories, options).run();
+		} finally {
+			lexicons.getSegmenters().shutdown();
+		}
+
+		// Segmented on worker threads, each with its own factory
+		assertTrue(workerFactories.get() > 0);
+		// One factory per worker per command
+		assertTrue(workerFactories.get() <= 2 * workers.size());
+		// Both commands ran on the same threads
+		assertTrue(workers.size() <= 4, workers.size() + " threads started");
+
+		SequenceFactory<Integer> factory =
+				new SequenceFactory<>(MAPPING, FormatterMode.NONE);
+		List<Sequence<Integer>> expected = Arrays.asList(
+				factory.toSequence("apa"), factory.toSequence("ata"));
+		for (String handle : Arrays.asList("A", "B")) {
+			int rows = 0;
+			for (List<Sequence<Integer>> row : lexicons.getLexicon(handle)) {
+				assertEquals(expected, row);
+				rows++;
+			}
+			assertEquals(200, rows);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LexiconReaderTest {
+
+	@Test
+	void testLineTerminators() throws IOException {
+		List<List<String>> rows = readAll("a\nb\r\nc\rd");
+		List<List<String>> expected = Arrays.asList(
+				Arrays.asList("a"),
+				Arrays.asList("b"),
+				Arrays.asList("c"),
+				Arrays.asList("d")
+		);
+		assertEquals(expected, rows);
+	}
+
+	@Test
+	void testTrailingNewline() throws IOException {
+		List<List<String>> rows = readAll("a\tb\n");
+		List<List<String>> expected = Arrays.asList(
+				Arrays.asList("a", "b"),
+				Arrays.asList("")
+		);
+		assertEquals(expected, rows);
+	}
+
+	@Test
+	void testEmptyCells() throws IOException {
+		List<List<String>> rows = readAll("\ta\t\t");
+		List<List<String>> expected = Arrays.asList(
+				Arrays.asList("", "a", "", "")
+		);
+		assertEquals(expected, rows);
+	}
+
+	@Test
+	void testMatchesSplit() throws IOException {
+		String data = "apat\ttakan\r\n\r\nkepak\rpik\n\nket";
+		List<List<String>> expected = new ArrayList<>();
+		for (String line : data.split("\r?\n|\r", -1)) {
+			expected.add(Arrays.asList(line.split("\t", -1)));
+		}
+		assertEquals(expected, readAll(data));
+	}
+
+	private static List<List<String>> readAll(String data) throws IOException {
+		List<List<String>> rows = new ArrayList<>();
+		try (LexiconReader reader = new LexiconReader(new StringReader(data))) {
+			for (List<String> row = reader.readRow(); row != null;
+			     row = reader.readRow()) {
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,58 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.parsing.FormatterMode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LexiconWriterTest {
+
+	@Test
+	void testRows() throws IOException {
+		String written = writeAll(
+				Arrays.asList("a", "b"),
+				Arrays.asList("c")
+		);
+		assertEquals("a\tb\nc", written);
+	}
+
+	@Test
+	void testTrimsOutput() throws IOException {
+		String written = writeAll(
+				Arrays.asList(""),
+				Arrays.asList(" a", ""),
+				Arrays.asList(""),
+				Arrays.asList("b "),
+				Arrays.asList("")
+		);
+		assertEquals("a\t\n\nb", written);
+	}
+
+	@Test
+	void testBlank() throws IOException {
+		assertEquals("", writeAll(Arrays.asList(""), Arrays.asList(" ")));
+	}
+
+	@SafeVarargs
+	private static String writeAll(List<String>... rows) throws IOException {
+		StringWriter buffer = new StringWriter();
+		try (LexiconWriter writer = new LexiconWriter(buffer,
+				FormatterMode.NONE)) {
+			for (List<String> row : rows) {
+				writer.writeRow(row);
+			}
+		}
+		return buffer.toString();
+	}
+}
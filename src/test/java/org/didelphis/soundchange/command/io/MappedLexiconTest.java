@@ -0,0 +1,125 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.Lexicon;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.ErrorLogger;
+import org.didelphis.soundchange.LexiconMap;
+import org.didelphis.soundchange.ScriptOptions;
+import org.didelphis.soundchange.SegmentPool;
+import org.didelphis.soundchange.StandardScript;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedLexiconTest {
+
+	private static final SequenceFactory<Integer> FACTORY = new SequenceFactory<>(
+			IntegerFeature.INSTANCE.emptyLoader().getFeatureMapping(),
+			FormatterMode.NONE
+	);
+	private static final StreamingFileHandler HANDLER =
+			new StreamingFileHandler(StandardCharsets.UTF_8);
+
+	@Test
+	void testRowsMatchReader() throws IOException {
+		String data = "apat\ttakan\r\n\r\nkepak\rpik\n\nket\n";
+		Path file = Files.createTempFile("mapped", ".lex");
+		try {
+			Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+			List<List<String>> expected = new ArrayList<>();
+			for (String line : data.split("\r?\n|\r", -1)) {
+				List<String> row = new ArrayList<>();
+				for (String cell : line.split("\t", -1)) {
+					row.add(FACTORY.toSequence(cell).toString());
+				}
+				expected.add(row);
+			}
+			List<List<String>> received = new ArrayList<>();
+			for (List<Sequence<Integer>> row : MappedLexicon.map(
+					HANDLER, file.toString(), FACTORY, new SegmentPool<>())) {
+				List<String> cells = new ArrayList<>();
+				for (Sequence<Integer> sequence : row) {
+					cells.add(sequence.toString());
+				}
+				received.add(cells);
+			}
+			assertEquals(expected, received);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testCloseToMappedPath() throws IOException {
+		Path file = Files.createTempFile("mapped", ".lex");
+		try {
+			Files.write(file, "apa\nata\npata".getBytes(StandardCharsets.UTF_8));
+			String path = file.toString().replace('\\', '/');
+			String script = String.join("\n",
+					"OPEN '" + path + "' as LEXICON",
+					"p > b",
+					"CLOSE LEXICON as '" + path + "'"
+			);
+			ScriptOptions options = new ScriptOptions();
+			options.setMappingThreshold(0);
+			new StandardScript<>("", IntegerFeature.INSTANCE, script,
+					HANDLER, new ErrorLogger(), options
+			).process();
+			String received = new String(Files.readAllBytes(file),
+					StandardCharsets.UTF_8);
+			assertEquals("aba\nata\nbata", received);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testCloseReleasesWrittenRows() throws IOException {
+		Path file = Files.createTempFile("mapped", ".lex");
+		Path out = Files.createTempFile("mapped", ".lex");
+		try {
+			Files.write(file, "apa\nata\npata".getBytes(StandardCharsets.UTF_8));
+			Lexicon<Integer> lexicon = MappedLexicon.map(HANDLER,
+					file.toString(), FACTORY, new SegmentPool<>());
+			List<List<Sequence<Integer>>> rows = new ArrayList<>();
+			for (List<Sequence<Integer>> row : lexicon) {
+				row.size();
+				rows.add(row);
+				assertTrue(MappedLexicon.isDecoded(row));
+			}
+
+			LexiconMap<Integer> lexicons = new LexiconMap<>();
+			lexicons.addLexicon("LEXICON", file.toString(), lexicon);
+			new LexiconCloseCommand<>(lexicons, out.toString(), "LEXICON",
+					HANDLER, FormatterMode.NONE).run();
+
+			for (List<Sequence<Integer>> row : rows) {
+				assertFalse(MappedLexicon.isDecoded(row));
+			}
+			String received = new String(Files.readAllBytes(out),
+					StandardCharsets.UTF_8);
+			assertEquals("apa\nata\npata", received);
+		} finally {
+			Files.delete(file);
+			Files.delete(out);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.soundchange.SegmentPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapLexiconTest {
+
+	private static final FeatureMapping<Integer> MAPPING = IntegerFeature.INSTANCE
+			.emptyLoader()
+			.getFeatureMapping();
+	private static final SequenceFactory<Integer> FACTORY = new SequenceFactory<>(
+			MAPPING,
+			FormatterMode.NONE
+	);
+
+	@Test
+	void testWriteBack() {
+		OffHeapLexicon<Integer> store = new OffHeapLexicon<>(
+				MAPPING.getFeatureModel(), new SegmentPool<>());
+		List<Sequence<Integer>> first = store.add(Arrays.asList(
+				FACTORY.toSequence("apat"),
+				FACTORY.toSequence("takan")
+		));
+		List<Sequence<Integer>> second = store.add(Arrays.asList(
+				FACTORY.toSequence("kepak")
+		));
+
+		assertEquals(2, first.size());
+		assertEquals(FACTORY.toSequence("takan"), first.get(1));
+
+		// Fits in place
+		first.set(0, FACTORY.toSequence("pat"));
+		// Must be moved
+		first.set(1, FACTORY.toSequence("takanakan"));
+
+		assertEquals(FACTORY.toSequence("pat"), first.get(0));
+		assertEquals(FACTORY.toSequence("takanakan"), first.get(1));
+		assertEquals(FACTORY.toSequence("kepak"), second.get(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> second.get(1));
+	}
+}
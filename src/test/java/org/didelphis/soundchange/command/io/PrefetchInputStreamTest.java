@@ -0,0 +1,83 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrefetchInputStreamTest {
+
+	@Test
+	void testReadsWholeSource() throws IOException {
+		byte[] data = new byte[1000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = new PrefetchInputStream(
+				new ByteArrayInputStream(data), 64)) {
+			byte[] buffer = new byte[100];
+			for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+				out.write(buffer, 0, n);
+			}
+		}
+		assertEquals(data.length, out.size());
+		assertEquals(data[999], out.toByteArray()[999]);
+	}
+
+	@Test
+	void testErrorInSourceEndsStream() throws IOException {
+		InputStream source = new InputStream() {
+			@Override
+			public int read() {
+				throw new StackOverflowError();
+			}
+		};
+		try (InputStream in = new PrefetchInputStream(source, 64)) {
+			assertThrows(StackOverflowError.class, in::read);
+		}
+	}
+
+	@Test
+	void testCloseWaitsForRead() throws IOException {
+		AtomicBoolean reading = new AtomicBoolean();
+		AtomicBoolean closedWhileReading = new AtomicBoolean();
+		InputStream source = new InputStream() {
+			@Override
+			public int read() {
+				reading.set(true);
+				// An uninterruptible read, like one from a file
+				long end = System.nanoTime() + 20_000_000L;
+				while (System.nanoTime() < end) {
+					Thread.yield();
+				}
+				reading.set(false);
+				return 'a';
+			}
+
+			@Override
+			public void close() {
+				if (reading.get()) {
+					closedWhileReading.set(true);
+				}
+			}
+		};
+		InputStream in = new PrefetchInputStream(source, 1);
+		assertEquals('a', in.read());
+		in.close();
+		assertFalse(closedWhileReading.get());
+	}
+}
@@ -0,0 +1,48 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This software is not licensed for any purpose                              *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.command.io;
+
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class SegmentationCacheTest {
+
+	private static final SequenceFactory<Integer> FACTORY = new SequenceFactory<>(
+			IntegerFeature.INSTANCE.emptyLoader().getFeatureMapping(),
+			FormatterMode.NONE
+	);
+
+	@Test
+	void testReturnsCopies() {
+		SegmentationCache<Integer> cache = new SegmentationCache<>(FACTORY, 8);
+		Sequence<Integer> first = cache.toSequence("apat");
+		Sequence<Integer> second = cache.toSequence("apat");
+		assertNotSame(first, second);
+		assertEquals(FACTORY.toSequence("apat"), second);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void testBounded() {
+		SegmentationCache<Integer> cache = new SegmentationCache<>(FACTORY, 2);
+		cache.toSequence("a");
+		cache.toSequence("b");
+		cache.toSequence("a");
+		cache.toSequence("c"); // evicts b
+		cache.toSequence("b");
+		assertEquals(1, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(0.2, cache.getHitRate(), 1.0E-9);
+	}
+}
@@ -0,0 +1,130 @@
+/*=============================================================================
+ = Copyright (c) 2017. Samantha Fiona McCabe (Didelphis)
+ =
+ = Licensed under the Apache License, Version 2.0 (the "License");
+ = you may not use this file except in compliance with the License.
+ = You may obtain a copy of the License at
+ =     http://www.apache.org/licenses/LICENSE-2.0
+ = Unless required by applicable law or agreed to in writing, software
+ = distributed under the License is distributed on an "AS IS" BASIS,
+ = WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ = See the License for the specific language governing permissions and
+ = limitations under the License.
+ =============================================================================*/
+
+package org.didelphis.soundchange.event;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.didelphis.io.MockFileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.soundchange.ErrorLogger;
+import org.didelphis.soundchange.StandardScript;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventsTest {
+
+	private static final String PREFIX = "org.didelphis.soundchange.";
+
+	@Test
+	void testScriptEvents() throws IOException {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa\nata");
+		String script = "OPEN 'in.lex' as LEXICON\n" +
+				"p > b\n" +
+				"CLOSE LEXICON as 'out.lex'";
+
+		List<RecordedEvent> events = record(() -> new StandardScript<>(
+				"events.rule", IntegerFeature.INSTANCE, script,
+				new MockFileHandler(fileSystem), new ErrorLogger()
+		).process());
+
+		assertEquals(3, filter(events, "ParseLine").size());
+
+		List<RecordedEvent> lexicons = filter(events, "Lexicon");
+		assertEquals(2, lexicons.size());
+		assertEquals("OPEN", lexicons.get(0).getString("operation"));
+		assertEquals("CLOSE", lexicons.get(1).getString("operation"));
+		for (RecordedEvent event : lexicons) {
+			assertEquals(2, event.getLong("rows"));
+			assertEquals(-1, event.getLong("bytes"));
+		}
+
+		List<RecordedEvent> rules = filter(events, "Rule");
+		assertEquals(1, rules.size());
+		assertEquals(2, rules.get(0).getLong("rows"));
+		assertEquals(2, rules.get(0).getLong("words"));
+	}
+
+	@Test
+	void testDisabledByDefault() throws IOException {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("in.lex", "apa");
+		String script = "OPEN 'in.lex' as LEXICON\n" +
+				"p > b\n" +
+				"CLOSE LEXICON as 'out.lex'";
+
+		Path file = Files.createTempFile("events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.start();
+			new StandardScript<>("events.rule", IntegerFeature.INSTANCE, script,
+					new MockFileHandler(fileSystem), new ErrorLogger()
+			).process();
+			recording.stop();
+			recording.dump(file);
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			for (String name : new String[]{"ParseLine", "Lexicon", "Rule"}) {
+				assertEquals(0, filter(events, name).size());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testNoEventsCreatedWhenNotRecording() {
+		assertNull(ScriptEvents.parseLine("events.rule", 1, "p > b"));
+		assertNull(ScriptEvents.lexicon("OPEN", "LEXICON", "in.lex"));
+		assertNull(ScriptEvents.rule());
+	}
+
+	private static List<RecordedEvent> record(Runnable runnable)
+			throws IOException {
+		Path file = Files.createTempFile("events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(PREFIX + "ParseLine");
+			recording.enable(PREFIX + "Lexicon");
+			recording.enable(PREFIX + "Rule");
+			recording.start();
+			runnable.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static List<RecordedEvent> filter(List<RecordedEvent> events,
+			String name) {
+		List<RecordedEvent> list = new ArrayList<>();
+		for (RecordedEvent event : events) {
+			if (event.getEventType().getName().equals(PREFIX + name)) {
+				list.add(event);
+			}
+		}
+		return list;
+	}
+}
@@ -0,0 +1,64 @@
+/******************************************************************************
+ * Copyright (c) 2016 Samantha Fiona McCabe                                   *
+ *                                                                            *
+ * This program is free software: you can redistribute it and/or modify       *
+ * it under the terms of the GNU General Public License as published by       *
+ * the Free Software Foundation, either version 3 of the License, or          *
+ * (at your option) any later version.                                        *
+ *                                                                            *
+ * This program is distributed in the hope that it will be useful,            *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of             *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the              *
+ * GNU General Public License for more details.                               *
+ *                                                                            *
+ * You should have received a copy of the GNU General Public License          *
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.      *
+ ******************************************************************************/
+
+package org.didelphis.soundchange.parser;
+
+import org.didelphis.soundchange.parser.CommandLexer.Kind;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommandLexerTest {
+
+	@Test
+	void testStripComment() {
+		assertEquals("a > b ", CommandLexer.stripComment("a > b % comment"));
+		assertEquals("", CommandLexer.stripComment("% comment"));
+		assertEquals("a > b", CommandLexer.stripComment("a > b"));
+	}
+
+	@Test
+	void testKeywords() {
+		assertEquals(Kind.LOAD, CommandLexer.classify("LOAD 'x.model'"));
+		assertEquals(Kind.EXECUTE, CommandLexer.classify("execute 'x'"));
+		assertEquals(Kind.IMPORT, CommandLexer.classify("Import 'x'"));
+		assertEquals(Kind.OPEN, CommandLexer.classify("OPEN 'x.lex' as LEX"));
+		assertEquals(Kind.WRITE, CommandLexer.classify("WRITE LEX as 'x.lex'"));
+		assertEquals(Kind.CLOSE, CommandLexer.classify("close LEX 'x.lex'"));
+		assertEquals(Kind.MODE, CommandLexer.classify("MODE INTELLIGENT"));
+		assertEquals(Kind.RESERVE, CommandLexer.classify("RESERVE ph th"));
+		assertEquals(Kind.BREAK, CommandLexer.classify("BREAK"));
+	}
+
+	@Test
+	void testVariablesAndRules() {
+		assertEquals(Kind.VARIABLE, CommandLexer.classify("C = p t k"));
+		assertEquals(Kind.VARIABLE, CommandLexer.classify("[W] = [X] [Y]"));
+		assertEquals(Kind.RULE, CommandLexer.classify("a > b / _#"));
+		assertEquals(Kind.RULE, CommandLexer.classify("p t k > b d g"));
+		assertEquals(Kind.RULE,
+				CommandLexer.classify("[-voice, -son] > [+voice]"));
+		assertEquals(Kind.RULE, CommandLexer.classify("open > close"));
+	}
+
+	@Test
+	void testUnknown() {
+		assertEquals(Kind.UNKNOWN, CommandLexer.classify("LOADING"));
+		assertEquals(Kind.UNKNOWN, CommandLexer.classify("a>b"));
+		assertEquals(Kind.UNKNOWN, CommandLexer.classify("xyz"));
+	}
+}
@@ -17,18 +17,26 @@
 
 package org.didelphis.soundchange.parser;
 
+import org.didelphis.io.ClassPathFileHandler;
 import org.didelphis.io.FileHandler;
+import org.didelphis.io.MockFileHandler;
 import org.didelphis.io.NullFileHandler;
 import org.didelphis.soundchange.VariableStore;
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.parsing.ParseException;
 import org.didelphis.language.phonetic.features.IntegerFeature;
 import org.didelphis.soundchange.ErrorLogger;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Created by samantha on 11/8/16.
@@ -96,6 +104,49 @@ class ScriptParserTest {
 		assertEquals(expected, received);
 	}
 
+	@Test
+	void testLoadModelIsShared() {
+		String commands = "LOAD 'AT_hybrid.model'";
+		ClassPathFileHandler handler = ClassPathFileHandler.INSTANCE;
+
+		ScriptParser<Integer> parser1 = getParser(commands, handler);
+		ScriptParser<Integer> parser2 = getParser(commands, handler);
+		parser1.parse();
+		parser2.parse();
+
+		assertSame(
+				parser1.getMemory().getFeatureMapping(),
+				parser2.getMemory().getFeatureMapping()
+		);
+	}
+
+	@Test
+	void testCircularImport() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("a", "IMPORT 'b'");
+		fileSystem.put("b", "C = p t k\nIMPORT 'a'");
+		MockFileHandler handler = new MockFileHandler(fileSystem);
+
+		ScriptParser<Integer> parser = getParser("IMPORT 'a'", handler);
+		assertThrows(ParseException.class, parser::parse);
+	}
+
+	@Test
+	void testRepeatedImportRestoresState() {
+		Map<String, String> fileSystem = new HashMap<>();
+		fileSystem.put("vars", "C = p t k\nMODE INTELLIGENT");
+		MockFileHandler handler = new MockFileHandler(fileSystem);
+
+		String commands = "IMPORT 'vars'\nC = b d g\nMODE NONE\nIMPORT 'vars'";
+		ScriptParser<Integer> parser = getParser(commands, handler);
+		parser.parse();
+
+		ParserMemory<Integer> memory = parser.getMemory();
+		assertEquals(3, memory.getVariables().get("C").size());
+		assertEquals("p", memory.getVariables().get("C").get(0));
+		assertEquals(FormatterMode.INTELLIGENT, memory.getFormatterMode());
+	}
+
 	private static ScriptParser<Integer> getParser(String commands,
 			FileHandler handler) {
 		return new ScriptParser<>("", IntegerFeature.INSTANCE, commands,